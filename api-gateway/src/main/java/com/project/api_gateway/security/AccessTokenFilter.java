@@ -0,0 +1,155 @@
+package com.project.api_gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Validates access tokens issued by user-service at the edge, so authenticated calls cost one
+ * signature check here instead of a password check in user-service.
+ * <p>
+ * A valid {@code Authorization: Bearer} token is turned into {@code X-User-Id} and {@code X-User-Phone}
+ * headers for the downstream service; those headers are always stripped from the incoming request so
+ * clients cannot set them. A bad token is rejected with 401. Requests without a token pass through
+ * unless their path is listed in {@code gateway.auth.required-paths}.
+ */
+@Component
+public class AccessTokenFilter implements GlobalFilter, Ordered {
+
+	public static final String USER_ID_HEADER = "X-User-Id";
+	public static final String USER_PHONE_HEADER = "X-User-Phone";
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final JwksKeyCache keyCache;
+	private final ObjectMapper objectMapper;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+	@Value("${gateway.auth.enabled:true}")
+	private boolean enabled;
+
+	@Value("${gateway.auth.issuer:user-service}")
+	private String issuer;
+
+	@Value("${gateway.auth.clock-skew-seconds:30}")
+	private long clockSkewSeconds;
+
+	@Value("${gateway.auth.required-paths:}")
+	private List<String> requiredPaths;
+
+	public AccessTokenFilter(JwksKeyCache keyCache, ObjectMapper objectMapper) {
+		this.keyCache = keyCache;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		if (!enabled) {
+			return chain.filter(exchange);
+		}
+		ServerHttpRequest request = exchange.getRequest().mutate()
+				.headers(headers -> {
+					headers.remove(USER_ID_HEADER);
+					headers.remove(USER_PHONE_HEADER);
+				})
+				.build();
+
+		String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			if (isRequired(request.getPath().value())) {
+				return reject(exchange, "missing token");
+			}
+			return chain.filter(exchange.mutate().request(request).build());
+		}
+
+		String[] parts = authorization.substring(BEARER_PREFIX.length()).trim().split("\\.");
+		if (parts.length != 3) {
+			return reject(exchange, "malformed token");
+		}
+		JsonNode header;
+		JsonNode claims;
+		try {
+			header = decode(parts[0]);
+			claims = decode(parts[1]);
+		} catch (IOException | IllegalArgumentException ex) {
+			return reject(exchange, "malformed token");
+		}
+		if (!"RS256".equals(header.path("alg").asText()) || !header.hasNonNull("kid")) {
+			return reject(exchange, "unsupported token");
+		}
+
+		return keyCache.key(header.get("kid").asText())
+				.map(key -> verify(key, parts) && claimsValid(claims))
+				.defaultIfEmpty(false)
+				.flatMap(valid -> {
+					if (!valid) {
+						return reject(exchange, "invalid token");
+					}
+					ServerHttpRequest authenticated = request.mutate()
+							.header(USER_ID_HEADER, claims.path("sub").asText())
+							.header(USER_PHONE_HEADER, claims.path("phone").asText())
+							.build();
+					return chain.filter(exchange.mutate().request(authenticated).build());
+				});
+	}
+
+	@Override
+	public int getOrder() {
+		// Before routing, so the identity headers reach the proxied request
+		return Ordered.HIGHEST_PRECEDENCE + 10;
+	}
+
+	private boolean isRequired(String path) {
+		return requiredPaths.stream().anyMatch(pattern -> !pattern.isBlank() && pathMatcher.match(pattern.trim(), path));
+	}
+
+	private JsonNode decode(String part) throws IOException {
+		return objectMapper.readTree(Base64.getUrlDecoder().decode(part));
+	}
+
+	private static boolean verify(RSAPublicKey key, String[] parts) {
+		try {
+			Signature signature = Signature.getInstance("SHA256withRSA");
+			signature.initVerify(key);
+			signature.update((parts[0] + '.' + parts[1]).getBytes(StandardCharsets.US_ASCII));
+			return signature.verify(Base64.getUrlDecoder().decode(parts[2]));
+		} catch (GeneralSecurityException | IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+	private boolean claimsValid(JsonNode claims) {
+		long now = Instant.now().getEpochSecond();
+		return issuer.equals(claims.path("iss").asText())
+				&& claims.hasNonNull("sub")
+				&& claims.path("exp").asLong(0) > now - clockSkewSeconds
+				&& claims.path("iat").asLong(Long.MAX_VALUE) <= now + clockSkewSeconds;
+	}
+
+	private static Mono<Void> reject(ServerWebExchange exchange, String reason) {
+		exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+		exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE,
+				"Bearer error=\"invalid_token\", error_description=\"" + reason + "\"");
+		return exchange.getResponse().setComplete();
+	}
+
+}
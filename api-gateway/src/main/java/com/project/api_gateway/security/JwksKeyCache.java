@@ -0,0 +1,116 @@
+package com.project.api_gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Public keys user-service signs access tokens with, fetched from its JWKS endpoint and held by key id.
+ * <p>
+ * Keys are fetched on first use and again when a token names a key we do not know, which is how a
+ * rotated key gets picked up. Concurrent misses share one fetch, and fetches are spaced at least
+ * {@code gateway.auth.key-refresh-min-interval-ms} apart so tokens with made-up key ids cannot
+ * turn into a request flood against user-service.
+ */
+@Component
+public class JwksKeyCache {
+
+	private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+
+	private final WebClient webClient;
+	private final String jwksUri;
+	private final long minRefreshIntervalMs;
+	private final Duration fetchTimeout;
+
+	private volatile Map<String, RSAPublicKey> keys = Map.of();
+	private volatile long lastFetchMillis;
+	private final AtomicReference<Mono<Map<String, RSAPublicKey>>> inFlight = new AtomicReference<>();
+
+	public JwksKeyCache(WebClient.Builder loadBalancedWebClientBuilder,
+			@Value("${gateway.auth.jwks-uri:http://user-service/api/users/.well-known/jwks.json}") String jwksUri,
+			@Value("${gateway.auth.key-refresh-min-interval-ms:30000}") long minRefreshIntervalMs,
+			@Value("${gateway.auth.key-fetch-timeout-ms:2000}") long fetchTimeoutMs) {
+		this.webClient = loadBalancedWebClientBuilder.build();
+		this.jwksUri = jwksUri;
+		this.minRefreshIntervalMs = minRefreshIntervalMs;
+		this.fetchTimeout = Duration.ofMillis(fetchTimeoutMs);
+	}
+
+	/**
+	 * Key for the given id; empty if user-service does not publish it.
+	 */
+	public Mono<RSAPublicKey> key(String keyId) {
+		RSAPublicKey key = keys.get(keyId);
+		if (key != null) {
+			return Mono.just(key);
+		}
+		return refresh().flatMap(fetched -> Mono.justOrEmpty(fetched.get(keyId)));
+	}
+
+	private Mono<Map<String, RSAPublicKey>> refresh() {
+		Mono<Map<String, RSAPublicKey>> running = inFlight.get();
+		if (running != null) {
+			return running;
+		}
+		if (System.currentTimeMillis() - lastFetchMillis < minRefreshIntervalMs) {
+			return Mono.just(keys);
+		}
+
+		Mono<Map<String, RSAPublicKey>> fetch = webClient.get()
+				.uri(jwksUri)
+				.retrieve()
+				.bodyToMono(JsonNode.class)
+				.timeout(fetchTimeout)
+				.map(JwksKeyCache::parse)
+				.doOnNext(fetched -> {
+					keys = fetched;
+					log.info("Loaded {} access token signing keys from {}", fetched.size(), jwksUri);
+				})
+				.onErrorResume(ex -> {
+					log.warn("Could not fetch access token signing keys from {}: {}", jwksUri, ex.getMessage());
+					return Mono.just(keys);
+				})
+				.doFinally(signal -> {
+					lastFetchMillis = System.currentTimeMillis();
+					inFlight.set(null);
+				})
+				.cache();
+		return inFlight.compareAndSet(null, fetch) ? fetch : refresh();
+	}
+
+	private static Map<String, RSAPublicKey> parse(JsonNode jwks) {
+		Map<String, RSAPublicKey> parsed = new HashMap<>();
+		Base64.Decoder decoder = Base64.getUrlDecoder();
+		for (JsonNode jwk : jwks.path("keys")) {
+			if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+				continue;
+			}
+			try {
+				BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+				BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+				RSAPublicKey key = (RSAPublicKey) KeyFactory.getInstance("RSA")
+						.generatePublic(new RSAPublicKeySpec(modulus, exponent));
+				parsed.put(jwk.get("kid").asText(), key);
+			} catch (GeneralSecurityException | IllegalArgumentException ex) {
+				log.warn("Skipping unreadable signing key {}: {}", jwk.path("kid").asText(), ex.getMessage());
+			}
+		}
+		return Map.copyOf(parsed);
+	}
+
+}
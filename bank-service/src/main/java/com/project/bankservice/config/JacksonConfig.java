@@ -0,0 +1,16 @@
+package com.project.bank_service.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.project.bank_service.money.MoneyModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Spring Boot registers every Module bean on the application ObjectMapper
+    @Bean
+    public Module moneyModule() {
+        return new MoneyModule();
+    }
+}
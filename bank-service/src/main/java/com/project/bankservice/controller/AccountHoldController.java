@@ -0,0 +1,89 @@
+package com.project.bank_service.controller;
+
+import com.project.bank_service.dto.request.AmountRequest;
+import com.project.bank_service.dto.request.HoldRequest;
+import com.project.bank_service.dto.response.ApiResponse;
+import com.project.bank_service.dto.response.HoldResponse;
+import com.project.bank_service.service.AccountHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/accounts/{accountId}/holds")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Account Holds", description = "APIs for reserving funds and capturing or releasing them later")
+public class AccountHoldController {
+
+    private final AccountHoldService accountHoldService;
+
+    @Operation(
+            summary = "Place a hold",
+            description = "Reserves funds on an account. Held funds are excluded from the balance until captured, released or expired."
+    )
+    @PostMapping
+    public ResponseEntity<ApiResponse<HoldResponse>> placeHold(
+            @Parameter(description = "Account ID", example = "A100001SBISAV")
+            @PathVariable String accountId,
+            @Valid @RequestBody HoldRequest request) {
+        log.info("Placing hold on account: {}", accountId);
+        HoldResponse hold = accountHoldService.placeHold(accountId, request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(hold, "Hold placed successfully"));
+    }
+
+    @Operation(
+            summary = "Get hold",
+            description = "Retrieves a hold by ID"
+    )
+    @GetMapping("/{holdId}")
+    public ResponseEntity<ApiResponse<HoldResponse>> getHold(
+            @Parameter(description = "Account ID", example = "A100001SBISAV")
+            @PathVariable String accountId,
+            @Parameter(description = "Hold ID", example = "1")
+            @PathVariable Long holdId) {
+        log.info("Fetching hold {} on account: {}", holdId, accountId);
+        HoldResponse hold = accountHoldService.getHold(accountId, holdId);
+        return ResponseEntity.ok(ApiResponse.success(hold, "Hold fetched successfully"));
+    }
+
+    @Operation(
+            summary = "Capture a hold",
+            description = "Debits the held funds. Send an amount to capture part of the hold (the rest is released); omit it to capture the whole hold."
+    )
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<ApiResponse<HoldResponse>> captureHold(
+            @Parameter(description = "Account ID", example = "A100001SBISAV")
+            @PathVariable String accountId,
+            @Parameter(description = "Hold ID", example = "1")
+            @PathVariable Long holdId,
+            @RequestBody(required = false) AmountRequest request) {
+        long amount = request != null ? request.getAmount() : 0;
+        log.info("Capturing hold {} on account: {}", holdId, accountId);
+        HoldResponse hold = accountHoldService.captureHold(accountId, holdId, amount);
+        return ResponseEntity.ok(ApiResponse.success(hold, "Hold captured successfully"));
+    }
+
+    @Operation(
+            summary = "Release a hold",
+            description = "Releases the held funds back to the available balance"
+    )
+    @PostMapping("/{holdId}/release")
+    public ResponseEntity<ApiResponse<HoldResponse>> releaseHold(
+            @Parameter(description = "Account ID", example = "A100001SBISAV")
+            @PathVariable String accountId,
+            @Parameter(description = "Hold ID", example = "1")
+            @PathVariable Long holdId) {
+        log.info("Releasing hold {} on account: {}", holdId, accountId);
+        HoldResponse hold = accountHoldService.releaseHold(accountId, holdId);
+        return ResponseEntity.ok(ApiResponse.success(hold, "Hold released successfully"));
+    }
+}
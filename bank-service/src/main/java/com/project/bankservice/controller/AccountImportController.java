@@ -0,0 +1,65 @@
+package com.project.bank_service.controller;
+
+import com.project.bank_service.dto.response.AccountImportJobResponse;
+import com.project.bank_service.dto.response.ApiResponse;
+import com.project.bank_service.entity.AccountImportJob.ImportFormat;
+import com.project.bank_service.service.AccountImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/accounts/imports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Account Imports", description = "APIs for linking accounts in bulk from partner-bank files")
+public class AccountImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final AccountImportService accountImportService;
+
+    @Operation(
+            summary = "Start an account import",
+            description = "Uploads a CSV (with a header row) or NDJSON file of accounts to link. The file is processed "
+                    + "in the background; poll the returned job for progress and rejected rows."
+    )
+    @PostMapping(consumes = {"text/csv", NDJSON})
+    public ResponseEntity<ApiResponse<AccountImportJobResponse>> startImport(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(NDJSON))
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        log.info("Starting {} account import", format);
+        AccountImportJobResponse job = accountImportService.submit(body, format);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/accounts/imports/" + job.getId()))
+                .body(ApiResponse.success(job, "Account import queued"));
+    }
+
+    @Operation(
+            summary = "Get import job",
+            description = "Returns progress counters and the first rejected rows of an account import"
+    )
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<AccountImportJobResponse>> getJob(
+            @Parameter(description = "Import job ID", example = "1")
+            @PathVariable Long jobId,
+            @Parameter(description = "Maximum number of rejected rows to return (capped at 1000)")
+            @RequestParam(defaultValue = "100") int errorLimit) {
+        log.info("Fetching account import job: {}", jobId);
+        AccountImportJobResponse job = accountImportService.getJob(jobId, errorLimit);
+        return ResponseEntity.ok(ApiResponse.success(job, "Import job fetched successfully"));
+    }
+}
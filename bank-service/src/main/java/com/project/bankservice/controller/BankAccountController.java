@@ -1,9 +1,16 @@
 package com.project.bank_service.controller;
 
+import com.project.bank_service.dto.request.AmountRequest;
+import com.project.bank_service.dto.request.BatchPostingRequest;
 import com.project.bank_service.dto.request.LinkAccountRequest;
 import com.project.bank_service.dto.response.ApiResponse;
+import com.project.bank_service.dto.response.BalanceResponse;
 import com.project.bank_service.dto.response.BankAccountResponse;
+import com.project.bank_service.dto.response.BatchPostingResponse;
+import com.project.bank_service.dto.response.LedgerEntryResponse;
 import com.project.bank_service.service.BankAccountService;
+import com.project.bank_service.service.IdempotencyService;
+import com.project.bank_service.service.PostingPipeline;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,7 +21,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +32,8 @@ import java.util.Map;
 public class BankAccountController {
 
     private final BankAccountService bankAccountService;
+    private final PostingPipeline postingPipeline;
+    private final IdempotencyService idempotencyService;
 
     @Operation(
             summary = "Link a bank account",
@@ -100,44 +108,81 @@ public class BankAccountController {
             description = "Retrieves the current balance of a bank account"
     )
     @GetMapping("/{accountId}/balance")
-    public ResponseEntity<ApiResponse<Map<String, BigDecimal>>> getBalance(
+    public ResponseEntity<ApiResponse<BalanceResponse>> getBalance(
             @Parameter(description = "Account ID", example = "A100001SBISAV")
             @PathVariable String accountId) {
         log.info("Fetching balance for account: {}", accountId);
-        BigDecimal balance = bankAccountService.getBalance(accountId);
+        long balance = bankAccountService.getBalance(accountId);
         return ResponseEntity.ok(ApiResponse.success(
-                Map.of("balance", balance),
+                BalanceResponse.builder().balance(balance).build(),
                 "Balance fetched successfully"));
     }
 
     @Operation(
             summary = "Credit amount",
-            description = "Credits (adds) money to a bank account"
+            description = "Credits (adds) money to a bank account. Send an Idempotency-Key header to make retries safe."
     )
     @PostMapping("/{accountId}/credit")
     public ResponseEntity<ApiResponse<Void>> creditAccount(
             @Parameter(description = "Account ID", example = "A100001SBISAV")
             @PathVariable String accountId,
-            @RequestBody Map<String, BigDecimal> request) {
-        BigDecimal amount = request.get("amount");
-        log.info("Crediting {} to account: {}", amount, accountId);
-        bankAccountService.creditAccount(accountId, amount);
-        return ResponseEntity.ok(ApiResponse.success("Amount credited successfully"));
+            @Parameter(description = "Client-generated key; retries with the same key return the stored response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody AmountRequest request) {
+        long amount = request.getAmount();
+        log.info("Crediting {} paise to account: {}", amount, accountId);
+        return idempotencyService.execute(idempotencyKey, accountId, "CREDIT", amount, Void.class, () -> {
+            postingPipeline.credit(accountId, amount, idempotencyKey);
+            return ResponseEntity.ok(ApiResponse.success("Amount credited successfully"));
+        });
     }
 
     @Operation(
             summary = "Debit amount",
-            description = "Debits (deducts) money from a bank account"
+            description = "Debits (deducts) money from a bank account and returns the resulting balance. Send an Idempotency-Key header to make retries safe."
     )
     @PostMapping("/{accountId}/debit")
-    public ResponseEntity<ApiResponse<Void>> debitAccount(
+    public ResponseEntity<ApiResponse<BalanceResponse>> debitAccount(
             @Parameter(description = "Account ID", example = "A100001SBISAV")
             @PathVariable String accountId,
-            @RequestBody Map<String, BigDecimal> request) {
-        BigDecimal amount = request.get("amount");
-        log.info("Debiting {} from account: {}", amount, accountId);
-        bankAccountService.debitAccount(accountId, amount);
-        return ResponseEntity.ok(ApiResponse.success("Amount debited successfully"));
+            @Parameter(description = "Client-generated key; retries with the same key return the stored response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody AmountRequest request) {
+        long amount = request.getAmount();
+        log.info("Debiting {} paise from account: {}", amount, accountId);
+        return idempotencyService.execute(idempotencyKey, accountId, "DEBIT", amount, BalanceResponse.class, () -> {
+            long balance = postingPipeline.debit(accountId, amount, idempotencyKey);
+            return ResponseEntity.ok(ApiResponse.success(
+                    BalanceResponse.builder().balance(balance).build(),
+                    "Amount debited successfully"));
+        });
+    }
+
+    @Operation(
+            summary = "Apply batch postings",
+            description = "Applies many credit/debit legs in one transaction and returns the result of each leg in request order"
+    )
+    @PostMapping("/postings/batch")
+    public ResponseEntity<ApiResponse<BatchPostingResponse>> applyPostings(
+            @Valid @RequestBody BatchPostingRequest request) {
+        log.info("Applying batch of {} postings", request.getLegs().size());
+        BatchPostingResponse result = bankAccountService.applyPostings(request.getLegs());
+        return ResponseEntity.ok(ApiResponse.success(result, "Batch postings processed"));
+    }
+
+    @Operation(
+            summary = "Get account statement",
+            description = "Retrieves the most recent ledger entries of a bank account, newest first"
+    )
+    @GetMapping("/{accountId}/ledger")
+    public ResponseEntity<ApiResponse<List<LedgerEntryResponse>>> getStatement(
+            @Parameter(description = "Account ID", example = "A100001SBISAV")
+            @PathVariable String accountId,
+            @Parameter(description = "Maximum number of entries (capped at 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Fetching last {} ledger entries for account: {}", limit, accountId);
+        List<LedgerEntryResponse> entries = bankAccountService.getStatement(accountId, limit);
+        return ResponseEntity.ok(ApiResponse.success(entries, "Ledger entries fetched successfully"));
     }
 
     @Operation(
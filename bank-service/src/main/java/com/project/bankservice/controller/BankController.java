@@ -3,6 +3,7 @@ package com.project.bank_service.controller;
 import com.project.bank_service.dto.request.CreateBankRequest;
 import com.project.bank_service.dto.response.ApiResponse;
 import com.project.bank_service.dto.response.BankResponse;
+import com.project.bank_service.dto.response.RawJson;
 import com.project.bank_service.service.BankService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,7 +18,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -81,23 +81,24 @@ public class BankController {
 
     @Operation(
             summary = "Get all banks",
-            description = "Retrieves a list of all active banks"
+            description = "Retrieves a list of all active banks, as serialized when the bank directory was last loaded"
     )
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BankResponse>>> getAllBanks() {
+    public ResponseEntity<ApiResponse<RawJson>> getAllBanks() {
         log.info("Fetching all banks");
-        List<BankResponse> banks = bankService.getAllBanks();
+        RawJson banks = bankService.getAllBanksJson();
         return ResponseEntity.ok(ApiResponse.success(banks, "Banks fetched successfully"));
     }
 
     @Operation(
             summary = "Get UPI-enabled banks",
-            description = "Retrieves a list of all banks that support UPI transactions"
+            description = "Retrieves a list of all banks that support UPI transactions, "
+                    + "as serialized when the bank directory was last loaded"
     )
     @GetMapping("/upi-enabled")
-    public ResponseEntity<ApiResponse<List<BankResponse>>> getUpiEnabledBanks() {
+    public ResponseEntity<ApiResponse<RawJson>> getUpiEnabledBanks() {
         log.info("Fetching UPI-enabled banks");
-        List<BankResponse> banks = bankService.getUpiEnabledBanks();
+        RawJson banks = bankService.getUpiEnabledBanksJson();
         return ResponseEntity.ok(ApiResponse.success(banks, "UPI-enabled banks fetched successfully"));
     }
 
@@ -0,0 +1,17 @@
+package com.project.bank_service.dto.request;
+
+import com.project.bank_service.money.JsonMoney;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AmountRequest {
+
+    @JsonMoney
+    private long amount;  // Paise; sent as rupees, e.g. 120.50
+}
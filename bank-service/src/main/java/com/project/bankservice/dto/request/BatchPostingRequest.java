@@ -0,0 +1,22 @@
+package com.project.bank_service.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPostingRequest {
+
+    @NotEmpty(message = "At least one posting leg is required")
+    @Size(max = 10000, message = "A batch can contain at most 10000 legs")
+    private List<@Valid PostingLegRequest> legs;
+}
@@ -0,0 +1,25 @@
+package com.project.bank_service.dto.request;
+
+import com.project.bank_service.money.JsonMoney;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldRequest {
+
+    @JsonMoney
+    private long amount;  // Paise; sent as rupees, e.g. 120.50
+
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;  // Optional; defaults to bank.holds.default-ttl-seconds
+
+    @Size(max = 64, message = "Reference must not exceed 64 characters")
+    private String reference;
+}
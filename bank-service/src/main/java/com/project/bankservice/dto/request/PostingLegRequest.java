@@ -0,0 +1,35 @@
+package com.project.bank_service.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.bank_service.money.JsonMoney;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostingLegRequest {
+
+    @NotBlank(message = "Account ID is required")
+    private String accountId;  // e.g., A100001SBISAV
+
+    @NotNull(message = "Posting type is required")
+    private PostingType type;
+
+    @JsonMoney
+    private long amount;  // Paise
+
+    // Recorded on the ledger entry; set from the Idempotency-Key header, never from a batch body
+    @JsonIgnore
+    private String idempotencyKey;
+
+    public enum PostingType {
+        CREDIT,
+        DEBIT
+    }
+}
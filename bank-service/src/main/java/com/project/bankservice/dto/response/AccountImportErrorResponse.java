@@ -0,0 +1,16 @@
+package com.project.bank_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountImportErrorResponse {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,33 @@
+package com.project.bank_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.bank_service.entity.AccountImportJob.ImportFormat;
+import com.project.bank_service.entity.AccountImportJob.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountImportJobResponse {
+
+    private Long id;
+    private ImportFormat format;
+    private ImportStatus status;
+    private long rowsRead;
+    private long imported;
+    private long duplicates;  // Already linked, or repeated earlier in the upload
+    private long rejected;
+    private String failureMessage;
+    private List<AccountImportErrorResponse> errors;  // First rejected rows, by line number
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,17 @@
+package com.project.bank_service.dto.response;
+
+import com.project.bank_service.money.JsonMoney;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceResponse {
+
+    @JsonMoney
+    private long balance;  // Paise
+}
@@ -2,12 +2,12 @@ package com.project.bank_service.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.project.bank_service.entity.BankAccount.AccountType;
+import com.project.bank_service.money.JsonMoney;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -25,7 +25,8 @@ public class BankAccountResponse {
     private String ifscCode;
     private String accountHolderName;
     private AccountType accountType;
-    private BigDecimal balance;
+    @JsonMoney
+    private long balance;  // Paise
     private Boolean isPrimary;
     private Boolean isVerified;
     private Boolean active;
@@ -0,0 +1,20 @@
+package com.project.bank_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPostingResponse {
+
+    private int total;
+    private int applied;
+    private int rejected;
+    private List<PostingResultResponse> results;  // Same order as the request legs
+}
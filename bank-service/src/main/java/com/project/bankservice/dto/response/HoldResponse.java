@@ -0,0 +1,33 @@
+package com.project.bank_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.bank_service.entity.AccountHold.HoldStatus;
+import com.project.bank_service.money.JsonMoney;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HoldResponse {
+
+    private Long id;
+    private String accountId;
+
+    @JsonMoney
+    private long amount;  // Paise
+
+    @JsonMoney
+    private long capturedAmount;  // Paise
+
+    private HoldStatus status;
+    private String reference;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+}
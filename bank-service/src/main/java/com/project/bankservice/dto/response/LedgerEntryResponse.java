@@ -0,0 +1,24 @@
+package com.project.bank_service.dto.response;
+
+import com.project.bank_service.entity.LedgerEntry.EntryType;
+import com.project.bank_service.money.JsonMoney;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntryResponse {
+
+    private Long id;
+    private String accountId;
+    private EntryType entryType;
+    @JsonMoney
+    private long amount;  // Paise
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.project.bank_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.bank_service.dto.request.PostingLegRequest.PostingType;
+import com.project.bank_service.money.JsonMoney;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostingResultResponse {
+
+    private int index;  // Position of the leg in the request
+    private String accountId;
+    private PostingType type;
+    @JsonMoney
+    private long amount;  // Paise
+    private PostingStatus status;
+    private String message;  // Rejection reason, if any
+
+    public enum PostingStatus {
+        APPLIED,
+        REJECTED
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.bank_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Funds reserved on an account until they are captured (debited), released or the hold expires.
+ * While a hold is HELD its amount is counted in {@link BankAccount#getHeldPaise()}.
+ */
+@Entity
+@Table(name = "account_holds", indexes = {
+        @Index(name = "idx_holds_account_id", columnList = "account_id"),
+        @Index(name = "idx_holds_status_id", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false, length = 30)
+    private String accountId;  // e.g., A100001SBISAV
+
+    @Column(name = "amount_paise", nullable = false, updatable = false)
+    private long amountPaise;
+
+    @Column(name = "captured_paise", nullable = false)
+    private long capturedPaise;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    @Builder.Default
+    private HoldStatus status = HoldStatus.HELD;
+
+    @Column(name = "reference", length = 64)
+    private String reference;  // Caller's reference, e.g. a collect request id
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum HoldStatus {
+        HELD,
+        CAPTURED,
+        RELEASED,
+        EXPIRED
+    }
+}
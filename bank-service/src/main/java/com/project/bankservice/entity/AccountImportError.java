@@ -0,0 +1,35 @@
+package com.project.bank_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an {@link AccountImportJob} that was rejected, by line number in the upload.
+ */
+@Entity
+@Table(name = "account_import_errors", indexes = {
+        @Index(name = "idx_import_errors_job_line", columnList = "job_id, line_number")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountImportError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, updatable = false)
+    private Long jobId;
+
+    @Column(name = "line_number", nullable = false, updatable = false)
+    private long lineNumber;
+
+    @Column(name = "message", nullable = false, updatable = false, length = 500)
+    private String message;
+}
@@ -0,0 +1,75 @@
+package com.project.bank_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk account-linking upload. Counters are advanced as each batch commits, so they can be polled while the job runs.
+ */
+@Entity
+@Table(name = "account_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportStatus status;
+
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+
+    @Column(name = "imported", nullable = false)
+    private long imported;
+
+    @Column(name = "duplicates", nullable = false)
+    private long duplicates;
+
+    @Column(name = "rejected", nullable = false)
+    private long rejected;
+
+    @Column(name = "failure_message", length = 500)
+    private String failureMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    public enum ImportStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -5,8 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -45,9 +45,23 @@ public class BankAccount {
     @Column(name = "account_type", nullable = false, length = 20)
     private AccountType accountType;
 
-    @Column(name = "balance", nullable = false, precision = 15, scale = 2)
+    // Snapshot balance in paise; the current balance also includes ledger entries after snapshotEntryId
+    @Column(name = "balance_paise", nullable = false)
+    @ColumnDefault("0")
+    private long balancePaise;
+
+    // Sum of HELD holds; reserved funds that debits cannot use
+    @Column(name = "held_paise", nullable = false)
+    @ColumnDefault("0")
+    private long heldPaise;
+
+    @Column(name = "snapshot_entry_id", nullable = false)
+    @ColumnDefault("0")
     @Builder.Default
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Long snapshotEntryId = 0L;
+
+    @Column(name = "snapshot_at")
+    private LocalDateTime snapshotAt;
 
     @Column(name = "is_primary", nullable = false)
     @Builder.Default
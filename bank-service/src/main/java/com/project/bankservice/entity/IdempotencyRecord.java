@@ -0,0 +1,58 @@
+package com.project.bank_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claim on an Idempotency-Key for a credit/debit, and the response once it has completed.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "account_id", nullable = false, length = 30)
+    private String accountId;
+
+    @Column(name = "operation", nullable = false, length = 10)
+    private String operation;  // CREDIT or DEBIT
+
+    @Column(name = "amount_paise", nullable = false)
+    private long amountPaise;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 15)
+    private Status status;
+
+    @Column(name = "http_status")
+    private Integer httpStatus;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        IN_PROGRESS,
+        UNKNOWN,     // The posting failed in a way that may have committed; settled from the ledger
+        COMPLETED
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.bank_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of one money movement on an account.
+ * An account's balance is its snapshot balance plus every entry after its snapshot.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entries", indexes = {
+        @Index(name = "idx_ledger_account_id_id", columnList = "account_id, id"),
+        @Index(name = "idx_ledger_idempotency_key", columnList = "idempotency_key")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false, length = 30)
+    private String accountId;  // e.g., A100001SBISAV
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 10)
+    private EntryType entryType;
+
+    @Column(name = "amount_paise", nullable = false, updatable = false)
+    private long amountPaise;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "idempotency_key", updatable = false, length = 100)
+    private String idempotencyKey;  // Set for credits and debits sent with an Idempotency-Key
+
+    public enum EntryType {
+        CREDIT,
+        DEBIT
+    }
+}
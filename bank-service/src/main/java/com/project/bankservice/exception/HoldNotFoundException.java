@@ -0,0 +1,21 @@
+package com.project.bank_service.exception;
+
+public class HoldNotFoundException extends RuntimeException {
+
+    private final String accountId;
+    private final Long holdId;
+
+    public HoldNotFoundException(String accountId, Long holdId) {
+        super(String.format("Hold %s not found on account %s", holdId, accountId));
+        this.accountId = accountId;
+        this.holdId = holdId;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+}
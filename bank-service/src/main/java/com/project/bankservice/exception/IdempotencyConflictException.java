@@ -0,0 +1,15 @@
+package com.project.bank_service.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyConflictException(String idempotencyKey, String reason) {
+        super(String.format("Idempotency-Key %s %s", idempotencyKey, reason));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.bank_service.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+    private final Long jobId;
+
+    public ImportJobNotFoundException(Long jobId) {
+        super(String.format("Import job %s not found", jobId));
+        this.jobId = jobId;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+}
@@ -1,16 +1,16 @@
 package com.project.bank_service.exception;
 
-import java.math.BigDecimal;
+import com.project.bank_service.money.Money;
 
 public class InsufficientBalanceException extends RuntimeException {
 
     private final String accountId;  // Changed from UUID to String
-    private final BigDecimal requestedAmount;
-    private final BigDecimal availableBalance;
+    private final long requestedAmount;  // Paise
+    private final long availableBalance;  // Paise
 
-    public InsufficientBalanceException(String accountId, BigDecimal requestedAmount, BigDecimal availableBalance) {
+    public InsufficientBalanceException(String accountId, long requestedAmount, long availableBalance) {
         super(String.format("Insufficient balance in account %s. Requested: %s, Available: %s",
-                accountId, requestedAmount, availableBalance));
+                accountId, Money.format(requestedAmount), Money.format(availableBalance)));
         this.accountId = accountId;
         this.requestedAmount = requestedAmount;
         this.availableBalance = availableBalance;
@@ -20,11 +20,11 @@ public class InsufficientBalanceException extends RuntimeException {
         return accountId;
     }
 
-    public BigDecimal getRequestedAmount() {
+    public long getRequestedAmount() {
         return requestedAmount;
     }
 
-    public BigDecimal getAvailableBalance() {
+    public long getAvailableBalance() {
         return availableBalance;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.project.bank_service.exception;
+
+import com.project.bank_service.entity.AccountHold.HoldStatus;
+
+public class InvalidHoldStateException extends RuntimeException {
+
+    private final Long holdId;
+    private final HoldStatus status;
+
+    public InvalidHoldStateException(Long holdId, HoldStatus status) {
+        super(String.format("Hold %s is already %s", holdId, status));
+        this.holdId = holdId;
+        this.status = status;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.bank_service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.bank_service.dto.request.LinkAccountRequest;
+import com.project.bank_service.entity.AccountImportJob.ImportFormat;
+import com.project.bank_service.entity.BankAccount.AccountType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an account import upload one line at a time, so only the current line is held in memory.
+ * CSV needs a header row naming the columns; NDJSON has one {@link LinkAccountRequest} object per line.
+ * A bad line becomes a row with an error rather than stopping the read.
+ */
+public class AccountImportReader implements Closeable {
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("userId", "accountNumber", "ifscCode", "accountHolderName", "accountType");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber;
+
+    public AccountImportReader(BufferedReader reader, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == ImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * Next non-blank line, or null at the end of the upload.
+     */
+    public Row next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            LinkAccountRequest request = format == ImportFormat.CSV ? parseCsv(line) : parseJson(line);
+            return new Row(lineNumber, request, null);
+        } catch (IllegalArgumentException e) {
+            return new Row(lineNumber, null, e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+    }
+
+    private LinkAccountRequest parseCsv(String line) {
+        List<String> fields = splitCsvLine(line);
+        String accountType = field(fields, "accountType");
+        String isPrimary = field(fields, "isPrimary");
+        return LinkAccountRequest.builder()
+                .userId(field(fields, "userId"))
+                .bankId(field(fields, "bankId"))
+                .accountNumber(field(fields, "accountNumber"))
+                .ifscCode(field(fields, "ifscCode"))
+                .accountHolderName(field(fields, "accountHolderName"))
+                .accountType(accountType == null ? null : parseAccountType(accountType))
+                .isPrimary(Boolean.parseBoolean(isPrimary))
+                .build();
+    }
+
+    private LinkAccountRequest parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, LinkAccountRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static AccountType parseAccountType(String value) {
+        try {
+            return AccountType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown account type: " + value);
+        }
+    }
+
+    // RFC 4180 quoting within a single line; quoted line breaks are not supported
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * One line of the upload: either a request to validate and import, or the reason it could not be parsed.
+     */
+    public record Row(long lineNumber, LinkAccountRequest request, String error) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.bank_service.money;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code long} paise field that is exchanged as a rupee decimal (e.g. 120.50) in JSON.
+ * The property is read and written by {@link MoneyModule}.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonMoney {
+}
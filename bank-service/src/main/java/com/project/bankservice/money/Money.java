@@ -0,0 +1,113 @@
+package com.project.bank_service.money;
+
+/**
+ * Fixed-point money as a primitive {@code long} count of paise (1/100 rupee).
+ * Parsing and formatting are exact and work on characters directly, so the posting
+ * path never builds a BigDecimal.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    // Same range as the numeric(15,2) columns this replaced
+    public static final int MAX_INTEGER_DIGITS = 13;
+
+    // Sign, 19 digits of a long, decimal point and room for a leading zero
+    public static final int MAX_WRITTEN_LENGTH = 22;
+
+    private Money() {
+    }
+
+    public static long parse(CharSequence text) {
+        int length = text.length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        return parse(chars, 0, length);
+    }
+
+    /**
+     * Parse a plain decimal such as {@code 120}, {@code -5.5} or {@code 99.99} into paise.
+     * Rejects exponents, more than two significant decimal places and values outside numeric(15,2).
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long rupees = 0;
+        int integerDigits = 0;
+        int digits = 0;
+        for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++, digits++) {
+            rupees = rupees * 10 + (chars[i] - '0');
+            if (rupees > 0 && ++integerDigits > MAX_INTEGER_DIGITS) {
+                throw invalid(chars, offset, length, "exceeds " + MAX_INTEGER_DIGITS + " integer digits");
+            }
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < end && chars[i] == '.') {
+            for (i++; i < end && chars[i] >= '0' && chars[i] <= '9'; i++, digits++) {
+                int digit = chars[i] - '0';
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + digit;
+                    fractionDigits++;
+                } else if (digit != 0) {
+                    throw invalid(chars, offset, length, "has more than " + SCALE + " decimal places");
+                }
+            }
+        }
+        if (digits == 0 || i != end) {
+            throw invalid(chars, offset, length, "is not a plain decimal number");
+        }
+        for (; fractionDigits < SCALE; fractionDigits++) {
+            fraction *= 10;
+        }
+
+        long paise = rupees * 100 + fraction;
+        return negative ? -paise : paise;
+    }
+
+    /**
+     * Write {@code paise} as a decimal with exactly two places into {@code buffer}, starting at 0.
+     * The buffer must hold at least {@link #MAX_WRITTEN_LENGTH} characters.
+     *
+     * @return the number of characters written
+     */
+    public static int write(long paise, char[] buffer) {
+        int position = MAX_WRITTEN_LENGTH;
+        // Unsigned arithmetic keeps Long.MIN_VALUE correct
+        long remaining = paise < 0 ? -paise : paise;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--position] = (char) ('0' + Long.remainderUnsigned(remaining, 10));
+            remaining = Long.divideUnsigned(remaining, 10);
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + Long.remainderUnsigned(remaining, 10));
+            remaining = Long.divideUnsigned(remaining, 10);
+        } while (remaining != 0);
+        if (paise < 0) {
+            buffer[--position] = '-';
+        }
+
+        int length = MAX_WRITTEN_LENGTH - position;
+        System.arraycopy(buffer, position, buffer, 0, length);
+        return length;
+    }
+
+    public static String format(long paise) {
+        char[] buffer = new char[MAX_WRITTEN_LENGTH];
+        return new String(buffer, 0, write(paise, buffer));
+    }
+
+    private static IllegalArgumentException invalid(char[] chars, int offset, int length, String reason) {
+        return new IllegalArgumentException("Amount " + new String(chars, offset, length) + " " + reason);
+    }
+}
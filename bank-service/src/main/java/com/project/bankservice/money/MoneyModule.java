@@ -0,0 +1,175 @@
+package com.project.bank_service.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads and writes {@link JsonMoney} paise properties as rupee decimals.
+ * A plain Jackson (de)serializer is handed the value as an Object, which boxes every amount.
+ * This module instead swaps those bean properties for ones that move the primitive {@code long}
+ * through exact-typed method handles: parsed straight from the parser's text buffer on the way
+ * in, written from a per-thread char buffer on the way out.
+ */
+public class MoneyModule extends SimpleModule {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[Money.MAX_WRITTEN_LENGTH]);
+
+    public MoneyModule() {
+        super("MoneyModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> properties) {
+                properties.replaceAll(writer -> isMoney(writer.getMember()) ? new MoneyPropertyWriter(writer) : writer);
+                return properties;
+            }
+        });
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                         BeanDeserializerBuilder builder) {
+                Iterator<SettableBeanProperty> properties = builder.getProperties();
+                while (properties.hasNext()) {
+                    SettableBeanProperty property = properties.next();
+                    if (isMoney(property.getMember())) {
+                        builder.addOrReplaceProperty(new MoneyProperty(property), true);
+                    }
+                }
+                return builder;
+            }
+        });
+    }
+
+    private static boolean isMoney(AnnotatedMember member) {
+        return member != null && member.hasAnnotation(JsonMoney.class);
+    }
+
+    private static MethodHandle unreflect(AnnotatedMember member, boolean setter) {
+        member.fixAccess(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodHandle handle;
+            if (member instanceof AnnotatedMethod method) {
+                handle = lookup.unreflect((Method) method.getMember());
+            } else if (setter) {
+                handle = lookup.unreflectSetter((Field) member.getMember());
+            } else {
+                handle = lookup.unreflectGetter((Field) member.getMember());
+            }
+            MethodType type = setter
+                    ? MethodType.methodType(void.class, Object.class, long.class)
+                    : MethodType.methodType(long.class, Object.class);
+            return handle.asType(type);
+        } catch (IllegalAccessException | RuntimeException ex) {
+            throw new IllegalArgumentException("@JsonMoney needs an accessible long property: " + member, ex);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException ex) {
+            return ex;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(t);
+    }
+
+    static final class MoneyPropertyWriter extends BeanPropertyWriter {
+
+        private final MethodHandle getter;
+
+        MoneyPropertyWriter(BeanPropertyWriter base) {
+            super(base);
+            this.getter = unreflect(base.getMember(), false);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeFieldName(_name);
+            writeValue(bean, generator);
+        }
+
+        @Override
+        public void serializeAsElement(Object bean, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeValue(bean, generator);
+        }
+
+        private void writeValue(Object bean, JsonGenerator generator) throws IOException {
+            long paise;
+            try {
+                paise = (long) getter.invokeExact(bean);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+            char[] buffer = BUFFER.get();
+            generator.writeRawValue(buffer, 0, Money.write(paise, buffer));
+        }
+    }
+
+    static final class MoneyProperty extends SettableBeanProperty.Delegating {
+
+        private final MethodHandle setter;
+
+        MoneyProperty(SettableBeanProperty delegate) {
+            super(delegate);
+            this.setter = unreflect(delegate.getMember(), true);
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty delegate) {
+            return new MoneyProperty(delegate);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser parser, DeserializationContext context, Object instance) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                set(instance, context.handleUnexpectedToken(long.class, parser));
+                return;
+            }
+            long paise;
+            try {
+                paise = Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } catch (IllegalArgumentException ex) {
+                throw InvalidFormatException.from(parser, ex.getMessage(), parser.getText(), long.class);
+            }
+            try {
+                setter.invokeExact(instance, paise);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser parser, DeserializationContext context, Object instance) throws IOException {
+            deserializeAndSet(parser, context, instance);
+            return instance;
+        }
+    }
+}
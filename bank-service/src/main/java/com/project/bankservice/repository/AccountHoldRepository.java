@@ -0,0 +1,59 @@
+package com.project.bank_service.repository;
+
+import com.project.bank_service.entity.AccountHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountHoldRepository extends JpaRepository<AccountHold, Long> {
+
+    Optional<AccountHold> findByIdAndAccountId(Long id, String accountId);
+
+    /**
+     * Capture a HELD, unexpired hold in one statement: mark it captured, drop its amount from held_paise
+     * and append the debit. An amount of 0 captures the full hold. Returns 0 if nothing was captured.
+     * Expiry is checked here rather than left to the expiry timer, which may not have fired yet.
+     */
+    @Modifying
+    @Query(value = "WITH h AS (UPDATE account_holds SET status = 'CAPTURED', updated_at = CURRENT_TIMESTAMP, "
+            + "captured_paise = CASE WHEN :amountPaise = 0 THEN amount_paise ELSE :amountPaise END "
+            + "WHERE id = :holdId AND account_id = :accountId AND status = 'HELD' AND amount_paise >= :amountPaise "
+            + "AND expires_at > CURRENT_TIMESTAMP "
+            + "RETURNING account_id, amount_paise, captured_paise), "
+            + "acct AS (UPDATE bank_accounts ba SET held_paise = ba.held_paise - h.amount_paise, "
+            + "updated_at = CURRENT_TIMESTAMP FROM h WHERE ba.id = h.account_id RETURNING ba.id) "
+            + "INSERT INTO ledger_entries (account_id, entry_type, amount_paise, created_at) "
+            + "SELECT account_id, 'DEBIT', captured_paise, CURRENT_TIMESTAMP FROM h", nativeQuery = true)
+    int capture(@Param("holdId") Long holdId, @Param("accountId") String accountId, @Param("amountPaise") long amountPaise);
+
+    /**
+     * Move a HELD hold to RELEASED or EXPIRED and give its amount back. Returns 0 if it was not HELD.
+     */
+    @Modifying
+    @Query(value = "WITH h AS (UPDATE account_holds SET status = :status, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = :holdId AND account_id = :accountId AND status = 'HELD' "
+            + "RETURNING account_id, amount_paise) "
+            + "UPDATE bank_accounts ba SET held_paise = ba.held_paise - h.amount_paise, updated_at = CURRENT_TIMESTAMP "
+            + "FROM h WHERE ba.id = h.account_id", nativeQuery = true)
+    int release(@Param("holdId") Long holdId, @Param("accountId") String accountId, @Param("status") String status);
+
+    // Keyset-paged so startup can stream millions of pending holds
+    @Query(value = "SELECT id, account_id AS \"accountId\", expires_at AS \"expiresAt\" FROM account_holds "
+            + "WHERE status = 'HELD' AND id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<PendingHoldView> findPendingHolds(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    interface PendingHoldView {
+        Long getId();
+
+        String getAccountId();
+
+        LocalDateTime getExpiresAt();
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.bank_service.repository;
+
+import com.project.bank_service.entity.AccountImportError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccountImportErrorRepository extends JpaRepository<AccountImportError, Long> {
+
+    String INSERT_ERROR_SQL = "INSERT INTO account_import_errors (job_id, line_number, message) VALUES (?, ?, ?)";
+
+    List<AccountImportError> findAllByJobIdOrderByLineNumber(Long jobId, Pageable pageable);
+}
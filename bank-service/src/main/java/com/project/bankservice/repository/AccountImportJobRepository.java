@@ -0,0 +1,31 @@
+package com.project.bank_service.repository;
+
+import com.project.bank_service.entity.AccountImportJob;
+import com.project.bank_service.entity.AccountImportJob.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountImportJobRepository extends JpaRepository<AccountImportJob, Long> {
+
+    @Modifying
+    @Query("UPDATE AccountImportJob j SET j.status = com.project.bank_service.entity.AccountImportJob.ImportStatus.RUNNING, "
+            + "j.startedAt = CURRENT_TIMESTAMP WHERE j.id = :jobId")
+    int markRunning(@Param("jobId") Long jobId);
+
+    // Deltas rather than totals, so a batch's counters commit atomically with its rows
+    @Modifying
+    @Query("UPDATE AccountImportJob j SET j.rowsRead = j.rowsRead + :rowsRead, j.imported = j.imported + :imported, "
+            + "j.duplicates = j.duplicates + :duplicates, j.rejected = j.rejected + :rejected WHERE j.id = :jobId")
+    int addProgress(@Param("jobId") Long jobId, @Param("rowsRead") long rowsRead, @Param("imported") long imported,
+                    @Param("duplicates") long duplicates, @Param("rejected") long rejected);
+
+    @Modifying
+    @Query("UPDATE AccountImportJob j SET j.status = :status, j.failureMessage = :failureMessage, "
+            + "j.finishedAt = CURRENT_TIMESTAMP WHERE j.id = :jobId")
+    int markFinished(@Param("jobId") Long jobId, @Param("status") ImportStatus status,
+                     @Param("failureMessage") String failureMessage);
+}
@@ -1,19 +1,27 @@
 package com.project.bank_service.repository;
 
 import com.project.bank_service.entity.BankAccount;
+import com.project.bank_service.entity.BankAccount.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BankAccountRepository extends JpaRepository<BankAccount, String> {  // Changed from UUID to String
 
+    // Bulk import insert; the generated id decides duplicates so re-running a file is harmless
+    String INSERT_IMPORTED_ACCOUNT_SQL = "INSERT INTO bank_accounts (id, user_id, bank_id, account_number, ifsc_code, "
+            + "account_holder_name, account_type, balance_paise, held_paise, snapshot_entry_id, is_primary, is_verified, "
+            + "active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, false, true, "
+            + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) ON CONFLICT (id) DO NOTHING";
+
     Optional<BankAccount> findByIdAndActiveTrue(String id);
 
     List<BankAccount> findAllByUserIdAndActiveTrue(String userId);
@@ -24,13 +32,40 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, String
 
     boolean existsByUserIdAndAccountNumberAndIfscCode(String userId, String accountNumber, String ifscCode);
 
+    @Query(value = "SELECT " + LedgerEntryRepository.AVAILABLE_BALANCE
+            + " FROM bank_accounts ba WHERE ba.id = :accountId AND ba.active = true", nativeQuery = true)
+    Optional<Long> findCurrentBalance(@Param("accountId") String accountId);
+
+    @Query(value = "SELECT ba.id AS id, ba.active AS active, " + LedgerEntryRepository.AVAILABLE_BALANCE
+            + " AS balance FROM bank_accounts ba WHERE ba.id IN (:accountIds)", nativeQuery = true)
+    List<AccountBalanceView> findCurrentBalances(@Param("accountIds") Collection<String> accountIds);
+
+    // NO KEY UPDATE serialises debits on an account but still lets credits (KEY SHARE) through
+    @Query(value = "SELECT id FROM bank_accounts WHERE id = :accountId AND active = true FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<String> lockForPosting(@Param("accountId") String accountId);
+
+    // Caller must hold the posting lock, so the check sees every committed debit and hold
     @Modifying
-    @Query("UPDATE BankAccount ba SET ba.balance = ba.balance + :amount, ba.updatedAt = CURRENT_TIMESTAMP WHERE ba.id = :accountId")
-    void creditBalance(@Param("accountId") String accountId, @Param("amount") BigDecimal amount);
+    @Query(value = "UPDATE bank_accounts ba SET held_paise = ba.held_paise + :amountPaise, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE ba.id = :accountId AND " + LedgerEntryRepository.AVAILABLE_BALANCE + " >= :amountPaise", nativeQuery = true)
+    int reserveIfAvailable(@Param("accountId") String accountId, @Param("amountPaise") long amountPaise);
+
+    // Rows are locked in id order so concurrent batches never deadlock
+    @Query(value = "SELECT id FROM bank_accounts WHERE id IN (:accountIds) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<String> lockAllForPosting(@Param("accountIds") Collection<String> accountIds);
+
+    // Waits for every in-flight posting on the account, so no lower entry id can commit afterwards
+    @Query(value = "SELECT id FROM bank_accounts WHERE id = :accountId FOR UPDATE", nativeQuery = true)
+    Optional<String> lockForCompaction(@Param("accountId") String accountId);
 
     @Modifying
-    @Query("UPDATE BankAccount ba SET ba.balance = ba.balance - :amount, ba.updatedAt = CURRENT_TIMESTAMP WHERE ba.id = :accountId AND ba.balance >= :amount")
-    int debitBalance(@Param("accountId") String accountId, @Param("amount") BigDecimal amount);
+    @Query(value = "UPDATE bank_accounts ba SET balance_paise = ba.balance_paise + d.delta, snapshot_entry_id = d.max_id, "
+            + "snapshot_at = CURRENT_TIMESTAMP "
+            + "FROM (SELECT SUM(CASE WHEN e.entry_type = 'CREDIT' THEN e.amount_paise ELSE -e.amount_paise END) AS delta, "
+            + "MAX(e.id) AS max_id FROM ledger_entries e JOIN bank_accounts a ON a.id = e.account_id "
+            + "WHERE e.account_id = :accountId AND e.id > a.snapshot_entry_id) d "
+            + "WHERE ba.id = :accountId AND d.max_id IS NOT NULL", nativeQuery = true)
+    int rollSnapshotForward(@Param("accountId") String accountId);
 
     @Modifying
     @Query("UPDATE BankAccount ba SET ba.isPrimary = false, ba.updatedAt = CURRENT_TIMESTAMP WHERE ba.userId = :userId AND ba.isPrimary = true")
@@ -42,11 +77,83 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, String
 
     @Modifying
     @Query("UPDATE BankAccount ba SET ba.active = false, ba.updatedAt = CURRENT_TIMESTAMP WHERE ba.id = :accountId")
-    void deactivateAccount(@Param("accountId") String accountId);
+    int deactivateAccount(@Param("accountId") String accountId);
 
     @Modifying
     @Query("UPDATE BankAccount ba SET ba.isVerified = true, ba.updatedAt = CURRENT_TIMESTAMP WHERE ba.id = :accountId")
-    void verifyAccount(@Param("accountId") String accountId);
+    int verifyAccount(@Param("accountId") String accountId);
 
     long countByUserIdAndActiveTrue(String userId);
+
+    // Accounts an import batch would clash with, either by generated id or by user + account number + IFSC
+    @Query(value = "SELECT id AS id, user_id AS \"userId\", account_number AS \"accountNumber\", ifsc_code AS \"ifscCode\" "
+            + "FROM bank_accounts WHERE id IN (:accountIds) OR account_number IN (:accountNumbers)", nativeQuery = true)
+    List<AccountKeyView> findImportClashes(@Param("accountIds") Collection<String> accountIds,
+                                           @Param("accountNumbers") Collection<String> accountNumbers);
+
+    // A user's active accounts with their bank and available balance, in one query
+    @Query(value = "SELECT ba.id AS id, ba.user_id AS \"userId\", b.bank_name AS \"bankName\", b.bank_code AS \"bankCode\", "
+            + "ba.account_number AS \"accountNumber\", ba.ifsc_code AS \"ifscCode\", "
+            + "ba.account_holder_name AS \"accountHolderName\", ba.account_type AS \"accountType\", "
+            + LedgerEntryRepository.AVAILABLE_BALANCE + " AS balance, ba.is_primary AS \"isPrimary\", "
+            + "ba.is_verified AS \"isVerified\", ba.active AS active, ba.created_at AS \"createdAt\" "
+            + "FROM bank_accounts ba JOIN banks b ON b.id = ba.bank_id "
+            + "WHERE ba.user_id = :userId AND ba.active = true", nativeQuery = true)
+    List<AccountSummaryView> findSummariesByUserId(@Param("userId") String userId);
+
+    @Query("SELECT DISTINCT ba.userId FROM BankAccount ba WHERE ba.userId IN :userIds AND ba.active = true")
+    List<String> findUserIdsWithActiveAccounts(@Param("userIds") Collection<String> userIds);
+
+    // Clear the previous primary of several users, keeping the ones just imported
+    @Modifying
+    @Query("UPDATE BankAccount ba SET ba.isPrimary = false, ba.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE ba.userId IN :userIds AND ba.isPrimary = true AND ba.id NOT IN :keepAccountIds")
+    int clearPrimaryAccountsExcept(@Param("userIds") Collection<String> userIds,
+                                   @Param("keepAccountIds") Collection<String> keepAccountIds);
+
+    interface AccountBalanceView {
+        String getId();
+
+        Boolean getActive();
+
+        Long getBalance();  // Available balance in paise (excludes held funds)
+    }
+
+    interface AccountSummaryView {
+        String getId();
+
+        String getUserId();
+
+        String getBankName();
+
+        String getBankCode();
+
+        String getAccountNumber();
+
+        String getIfscCode();
+
+        String getAccountHolderName();
+
+        AccountType getAccountType();
+
+        Long getBalance();  // Available balance in paise (excludes held funds)
+
+        Boolean getIsPrimary();
+
+        Boolean getIsVerified();
+
+        Boolean getActive();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface AccountKeyView {
+        String getId();
+
+        String getUserId();
+
+        String getAccountNumber();
+
+        String getIfscCode();
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.project.bank_service.repository;
 
 import com.project.bank_service.entity.Bank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,4 +24,8 @@ public interface BankRepository extends JpaRepository<Bank, String> {  // Change
     boolean existsByBankCode(String bankCode);
 
     boolean existsByIfscPrefix(String ifscPrefix);
+
+    // Changes whenever a bank is added or updated; compared against the BankDirectory snapshot
+    @Query(value = "SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(updated_at) AS TEXT), '') FROM banks", nativeQuery = true)
+    String findDirectoryVersion();
 }
\ No newline at end of file
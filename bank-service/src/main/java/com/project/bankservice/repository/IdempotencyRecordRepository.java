@@ -0,0 +1,48 @@
+package com.project.bank_service.repository;
+
+import com.project.bank_service.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Returns 0 when the key has already been claimed; the unique key decides the race
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, account_id, operation, amount_paise, status, created_at) "
+            + "VALUES (:key, :accountId, :operation, :amountPaise, 'IN_PROGRESS', CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("accountId") String accountId,
+              @Param("operation") String operation, @Param("amountPaise") long amountPaise);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.project.bank_service.entity.IdempotencyRecord.Status.COMPLETED, "
+            + "r.httpStatus = :httpStatus, r.responseBody = :responseBody, r.completedAt = CURRENT_TIMESTAMP "
+            + "WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("httpStatus") int httpStatus, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key "
+            + "AND r.status <> com.project.bank_service.entity.IdempotencyRecord.Status.COMPLETED")
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.project.bank_service.entity.IdempotencyRecord.Status.UNKNOWN "
+            + "WHERE r.idempotencyKey = :key "
+            + "AND r.status = com.project.bank_service.entity.IdempotencyRecord.Status.IN_PROGRESS")
+    int markUnknown(@Param("key") String key);
+
+    @Query("SELECT r FROM IdempotencyRecord r "
+            + "WHERE r.status = com.project.bank_service.entity.IdempotencyRecord.Status.UNKNOWN AND r.createdAt < :cutoff")
+    List<IdempotencyRecord> findUnknownCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
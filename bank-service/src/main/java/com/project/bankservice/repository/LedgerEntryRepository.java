@@ -0,0 +1,72 @@
+package com.project.bank_service.repository;
+
+import com.project.bank_service.entity.LedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * Signed sum of the entries written after an account's snapshot.
+     * Used as {@code ba.balance_paise + UNSNAPSHOTTED_SUM} against bank_accounts aliased as ba.
+     * Cast back to bigint because SUM over bigint yields numeric.
+     */
+    String UNSNAPSHOTTED_SUM = "CAST(COALESCE((SELECT SUM(CASE WHEN e.entry_type = 'CREDIT' THEN e.amount_paise "
+            + "ELSE -e.amount_paise END) FROM ledger_entries e "
+            + "WHERE e.account_id = ba.id AND e.id > ba.snapshot_entry_id), 0) AS bigint)";
+
+    /**
+     * Balance a debit or new hold may use: ledger balance minus funds reserved by holds.
+     */
+    String AVAILABLE_BALANCE = "ba.balance_paise + " + UNSNAPSHOTTED_SUM + " - ba.held_paise";
+
+    String INSERT_ENTRY_SQL = "INSERT INTO ledger_entries (account_id, entry_type, amount_paise, created_at, idempotency_key) "
+            + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, ?)";
+
+    // Takes a key-share lock on the account before the entry id is drawn, so the compactor never skips it
+    @Modifying
+    @Query(value = "WITH acct AS (SELECT id FROM bank_accounts WHERE id = :accountId FOR KEY SHARE) "
+            + "INSERT INTO ledger_entries (account_id, entry_type, amount_paise, created_at, idempotency_key) "
+            + "SELECT id, 'CREDIT', :amountPaise, CURRENT_TIMESTAMP, :idempotencyKey FROM acct", nativeQuery = true)
+    int insertCredit(@Param("accountId") String accountId, @Param("amountPaise") long amountPaise,
+                     @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Insert the debit only if the balance covers it, and return the resulting balance in the same
+     * statement (or the available balance if it was rejected).
+     * Caller must already hold the account lock (see BankAccountRepository.lockForPosting); the lock
+     * has to be a separate statement so this one's snapshot sees every debit committed before it.
+     */
+    @Query(value = "WITH acct AS (SELECT ba.id, " + AVAILABLE_BALANCE + " AS balance "
+            + "FROM bank_accounts ba WHERE ba.id = :accountId), "
+            + "debit AS (INSERT INTO ledger_entries (account_id, entry_type, amount_paise, created_at, idempotency_key) "
+            + "SELECT id, 'DEBIT', :amountPaise, CURRENT_TIMESTAMP, :idempotencyKey FROM acct "
+            + "WHERE balance >= :amountPaise RETURNING id) "
+            + "SELECT EXISTS (SELECT 1 FROM debit) AS applied, "
+            + "acct.balance - CASE WHEN EXISTS (SELECT 1 FROM debit) THEN :amountPaise ELSE 0 END AS balance "
+            + "FROM acct", nativeQuery = true)
+    DebitOutcome debitIfSufficient(@Param("accountId") String accountId, @Param("amountPaise") long amountPaise,
+                                   @Param("idempotencyKey") String idempotencyKey);
+
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    @Query(value = "SELECT e.account_id FROM ledger_entries e JOIN bank_accounts ba ON ba.id = e.account_id "
+            + "WHERE e.id > ba.snapshot_entry_id GROUP BY e.account_id HAVING COUNT(*) >= :minEntries "
+            + "ORDER BY COUNT(*) DESC LIMIT :limit", nativeQuery = true)
+    List<String> findAccountsDueForCompaction(@Param("minEntries") int minEntries, @Param("limit") int limit);
+
+    List<LedgerEntry> findAllByAccountIdOrderByIdDesc(String accountId, Pageable pageable);
+
+    interface DebitOutcome {
+        Boolean getApplied();
+
+        Long getBalance();  // Paise, after the debit if applied
+    }
+}
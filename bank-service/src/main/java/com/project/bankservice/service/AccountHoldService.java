@@ -0,0 +1,143 @@
+package com.project.bank_service.service;
+
+import com.project.bank_service.dto.request.HoldRequest;
+import com.project.bank_service.dto.response.HoldResponse;
+import com.project.bank_service.entity.AccountHold;
+import com.project.bank_service.entity.AccountHold.HoldStatus;
+import com.project.bank_service.exception.AccountNotFoundException;
+import com.project.bank_service.exception.HoldNotFoundException;
+import com.project.bank_service.exception.InsufficientBalanceException;
+import com.project.bank_service.exception.InvalidHoldStateException;
+import com.project.bank_service.repository.AccountHoldRepository;
+import com.project.bank_service.repository.BankAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Two-phase debits: reserve funds with a hold, then capture (debit) or release them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AccountHoldService {
+
+    private final AccountHoldRepository accountHoldRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final BalanceCache balanceCache;
+    private final HoldExpiryService holdExpiryService;
+
+    @Value("${bank.holds.default-ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Value("${bank.holds.max-ttl-seconds:86400}")
+    private long maxTtlSeconds;
+
+    public HoldResponse placeHold(String accountId, HoldRequest request) {
+        long amount = request.getAmount();
+        log.info("Placing hold of {} paise on account: {}", amount, accountId);
+
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new IllegalArgumentException("Hold TTL must not exceed " + maxTtlSeconds + " seconds");
+        }
+
+        bankAccountRepository.lockForPosting(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("id", accountId));
+
+        if (bankAccountRepository.reserveIfAvailable(accountId, amount) == 0) {
+            long available = bankAccountRepository.findCurrentBalance(accountId).orElse(0L);
+            throw new InsufficientBalanceException(accountId, amount, available);
+        }
+
+        AccountHold hold = accountHoldRepository.save(AccountHold.builder()
+                .accountId(accountId)
+                .amountPaise(amount)
+                .reference(request.getReference())
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .build());
+
+        balanceCache.changed(accountId);
+        holdExpiryService.scheduleAfterCommit(hold);
+
+        log.info("Hold {} placed on account {}", hold.getId(), accountId);
+        return mapToHoldResponse(hold);
+    }
+
+    /**
+     * Debit a held amount. {@code amount} 0 captures the whole hold; a smaller amount captures
+     * part of it and releases the rest.
+     */
+    public HoldResponse captureHold(String accountId, Long holdId, long amount) {
+        log.info("Capturing hold {} on account {} ({} paise)", holdId, accountId, amount);
+
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount must not be negative");
+        }
+
+        // The capture statement's CTEs run in no fixed order, so lock the account before the debit's
+        // entry id can be drawn; otherwise the compactor could roll past it
+        bankAccountRepository.lockForPosting(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("id", accountId));
+
+        if (accountHoldRepository.capture(holdId, accountId, amount) == 0) {
+            AccountHold hold = getHoldEntity(accountId, holdId);
+            if (hold.getStatus() != HoldStatus.HELD) {
+                throw new InvalidHoldStateException(holdId, hold.getStatus());
+            }
+            if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+                // Past its expiry; the timer has not released it yet
+                throw new InvalidHoldStateException(holdId, HoldStatus.EXPIRED);
+            }
+            throw new IllegalArgumentException("Capture amount exceeds the held amount");
+        }
+        balanceCache.changed(accountId);
+
+        log.info("Hold {} captured", holdId);
+        return mapToHoldResponse(getHoldEntity(accountId, holdId));
+    }
+
+    public HoldResponse releaseHold(String accountId, Long holdId) {
+        log.info("Releasing hold {} on account {}", holdId, accountId);
+
+        if (accountHoldRepository.release(holdId, accountId, HoldStatus.RELEASED.name()) == 0) {
+            throw new InvalidHoldStateException(holdId, getHoldEntity(accountId, holdId).getStatus());
+        }
+        balanceCache.changed(accountId);
+
+        log.info("Hold {} released", holdId);
+        return mapToHoldResponse(getHoldEntity(accountId, holdId));
+    }
+
+    @Transactional(readOnly = true)
+    public HoldResponse getHold(String accountId, Long holdId) {
+        log.info("Fetching hold {} on account {}", holdId, accountId);
+        return mapToHoldResponse(getHoldEntity(accountId, holdId));
+    }
+
+    private AccountHold getHoldEntity(String accountId, Long holdId) {
+        return accountHoldRepository.findByIdAndAccountId(holdId, accountId)
+                .orElseThrow(() -> new HoldNotFoundException(accountId, holdId));
+    }
+
+    private HoldResponse mapToHoldResponse(AccountHold hold) {
+        return HoldResponse.builder()
+                .id(hold.getId())
+                .accountId(hold.getAccountId())
+                .amount(hold.getAmountPaise())
+                .capturedAmount(hold.getCapturedPaise())
+                .status(hold.getStatus())
+                .reference(hold.getReference())
+                .expiresAt(hold.getExpiresAt())
+                .createdAt(hold.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,443 @@
+package com.project.bank_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.bank_service.dto.request.LinkAccountRequest;
+import com.project.bank_service.dto.response.AccountImportErrorResponse;
+import com.project.bank_service.dto.response.AccountImportJobResponse;
+import com.project.bank_service.entity.AccountImportError;
+import com.project.bank_service.entity.AccountImportJob;
+import com.project.bank_service.entity.AccountImportJob.ImportFormat;
+import com.project.bank_service.entity.AccountImportJob.ImportStatus;
+import com.project.bank_service.entity.Bank;
+import com.project.bank_service.exception.ImportJobNotFoundException;
+import com.project.bank_service.exception.ServiceOverloadedException;
+import com.project.bank_service.importer.AccountImportReader;
+import com.project.bank_service.repository.AccountImportErrorRepository;
+import com.project.bank_service.repository.AccountImportJobRepository;
+import com.project.bank_service.repository.BankAccountRepository;
+import com.project.bank_service.repository.BankAccountRepository.AccountKeyView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk account linking for partner-bank onboarding files.
+ * The upload is spooled to a temp file and read line by line on a worker thread. Banks are resolved once per
+ * IFSC prefix, repeats are dropped in memory, and each batch is inserted with one JDBC batch in its own
+ * transaction, so progress is visible through the job while it runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final AccountImportJobRepository accountImportJobRepository;
+    private final AccountImportErrorRepository accountImportErrorRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final BankDirectory bankDirectory;
+    private final IdGeneratorService idGeneratorService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${bank.imports.workers:2}")
+    private int workers;
+
+    @Value("${bank.imports.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${bank.imports.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${bank.imports.max-errors-per-job:1000}")
+    private int maxErrorsPerJob;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "account-import-" + threadCount.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Spool the upload and queue it for import. Returns as soon as the job is queued.
+     */
+    public AccountImportJobResponse submit(InputStream upload, ImportFormat format) {
+        Path file = spool(upload);
+        AccountImportJob job = accountImportJobRepository.save(AccountImportJob.builder()
+                .format(format)
+                .status(ImportStatus.QUEUED)
+                .build());
+        try {
+            executor.execute(() -> run(job.getId(), format, file));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(file);
+            finish(job.getId(), ImportStatus.FAILED, "Import queue was full");
+            throw new ServiceOverloadedException("Too many account imports in progress; retry later");
+        }
+        log.info("Queued account import {} ({})", job.getId(), format);
+        return mapToResponse(job, List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public AccountImportJobResponse getJob(Long jobId, int errorLimit) {
+        errorLimit = Math.max(1, Math.min(errorLimit, MAX_REPORTED_ERRORS));
+        AccountImportJob job = accountImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException(jobId));
+        List<AccountImportError> errors =
+                accountImportErrorRepository.findAllByJobIdOrderByLineNumber(jobId, PageRequest.of(0, errorLimit));
+        return mapToResponse(job, errors);
+    }
+
+    private void run(Long jobId, ImportFormat format, Path file) {
+        transactionTemplate.executeWithoutResult(status -> accountImportJobRepository.markRunning(jobId));
+        ImportBatch batch = new ImportBatch(jobId);
+        try (AccountImportReader reader = new AccountImportReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), format, objectMapper)) {
+            AccountImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                prepare(batch, row);
+                if (batch.rowsRead >= batchSize) {
+                    flush(batch);
+                }
+            }
+            flush(batch);
+            finish(jobId, ImportStatus.COMPLETED, null);
+            log.info("Account import {} completed", jobId);
+        } catch (IOException | RuntimeException e) {
+            log.error("Account import {} failed", jobId, e);
+            finish(jobId, ImportStatus.FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Validate one row and add it to the batch, or count it as rejected or duplicate.
+     */
+    private void prepare(ImportBatch batch, AccountImportReader.Row row) {
+        batch.rowsRead++;
+        if (row.error() != null) {
+            batch.reject(row.lineNumber(), row.error());
+            return;
+        }
+
+        LinkAccountRequest request = row.request();
+        String ifscCode = request.getIfscCode();
+        if (ifscCode != null && ifscCode.length() >= 4) {
+            request.setIfscCode(ifscCode.toUpperCase(Locale.ROOT));
+            String prefix = request.getIfscCode().substring(0, 4);
+            Optional<Bank> bank = batch.banksByPrefix.computeIfAbsent(prefix, bankDirectory::findByIfscPrefix);
+            if (bank.isEmpty()) {
+                batch.reject(row.lineNumber(), "No active bank for IFSC prefix " + prefix);
+                return;
+            }
+            if (request.getBankId() != null && !request.getBankId().equals(bank.get().getId())) {
+                batch.reject(row.lineNumber(), "IFSC code does not match the selected bank");
+                return;
+            }
+            request.setBankId(bank.get().getId());
+        }
+
+        Set<ConstraintViolation<LinkAccountRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            batch.reject(row.lineNumber(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        Bank bank = batch.banksByPrefix.get(request.getIfscCode().substring(0, 4)).orElseThrow();
+        String accountId = idGeneratorService.generateAccountId(
+                request.getUserId(), bank.getBankCode(), request.getAccountType());
+        // Repeats of an earlier batch are caught by dropExisting once that batch is committed
+        if (!batch.seenAccountKeys.add(accountKey(request.getUserId(), request.getAccountNumber(), request.getIfscCode()))) {
+            batch.duplicates++;
+            return;
+        }
+        if (!batch.seenAccountIds.add(accountId)) {
+            batch.duplicateId(row.lineNumber(), accountId);
+            return;
+        }
+        batch.candidates.add(new Candidate(row.lineNumber(), accountId, bank.getId(), request));
+    }
+
+    /**
+     * Insert the pending rows and record progress and errors in one transaction.
+     */
+    private void flush(ImportBatch batch) {
+        if (batch.rowsRead == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Candidate> fresh = dropExisting(batch);
+            long imported = insert(batch, fresh);
+
+            if (!batch.errors.isEmpty()) {
+                jdbcTemplate.batchUpdate(AccountImportErrorRepository.INSERT_ERROR_SQL, batch.errors);
+            }
+            accountImportJobRepository.addProgress(batch.jobId, batch.rowsRead, imported,
+                    batch.duplicates, batch.rejected);
+        });
+        batch.clear();
+    }
+
+    private List<Candidate> dropExisting(ImportBatch batch) {
+        Set<String> accountIds = new HashSet<>();
+        Set<String> accountNumbers = new HashSet<>();
+        for (Candidate candidate : batch.candidates) {
+            accountIds.add(candidate.accountId());
+            accountNumbers.add(candidate.request().getAccountNumber());
+        }
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> existingIds = new HashSet<>();
+        Set<String> existingKeys = new HashSet<>();
+        for (AccountKeyView existing : bankAccountRepository.findImportClashes(accountIds, accountNumbers)) {
+            existingIds.add(existing.getId());
+            existingKeys.add(accountKey(existing.getUserId(), existing.getAccountNumber(), existing.getIfscCode()));
+        }
+
+        List<Candidate> fresh = new ArrayList<>(batch.candidates.size());
+        for (Candidate candidate : batch.candidates) {
+            LinkAccountRequest request = candidate.request();
+            if (existingKeys.contains(accountKey(request.getUserId(), request.getAccountNumber(), request.getIfscCode()))) {
+                batch.duplicates++;
+            } else if (existingIds.contains(candidate.accountId())) {
+                batch.duplicateId(candidate.lineNumber(), candidate.accountId());
+            } else {
+                fresh.add(candidate);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Batch insert with the same primary-account rules as linkAccount: the last row asking to be primary wins,
+     * otherwise a user's first account becomes primary.
+     */
+    private long insert(ImportBatch batch, List<Candidate> fresh) {
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Candidate> primaryByUser = new LinkedHashMap<>();
+        for (Candidate candidate : fresh) {
+            if (Boolean.TRUE.equals(candidate.request().getIsPrimary())) {
+                primaryByUser.put(candidate.request().getUserId(), candidate);
+            }
+        }
+        Set<String> userIds = fresh.stream().map(c -> c.request().getUserId()).collect(Collectors.toSet());
+        Set<String> usersWithAccounts = new HashSet<>(bankAccountRepository.findUserIdsWithActiveAccounts(userIds));
+        for (Candidate candidate : fresh) {
+            String userId = candidate.request().getUserId();
+            if (!usersWithAccounts.contains(userId)) {
+                primaryByUser.putIfAbsent(userId, candidate);
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(fresh.size());
+        for (Candidate candidate : fresh) {
+            LinkAccountRequest request = candidate.request();
+            rows.add(new Object[]{
+                    candidate.accountId(),
+                    request.getUserId(),
+                    candidate.bankId(),
+                    request.getAccountNumber(),
+                    request.getIfscCode(),
+                    request.getAccountHolderName().trim(),
+                    request.getAccountType().name(),
+                    primaryByUser.get(request.getUserId()) == candidate
+            });
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(BankAccountRepository.INSERT_IMPORTED_ACCOUNT_SQL, rows);
+        long imported = 0;
+        Map<String, String> newPrimaryByUser = new HashMap<>();
+        for (int i = 0; i < fresh.size(); i++) {
+            Candidate candidate = fresh.get(i);
+            boolean inserted = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+            if (!inserted) {
+                // Linked since dropExisting looked
+                batch.duplicateId(candidate.lineNumber(), candidate.accountId());
+                continue;
+            }
+            imported++;
+            if (Boolean.TRUE.equals(candidate.request().getIsPrimary())
+                    && primaryByUser.get(candidate.request().getUserId()) == candidate) {
+                newPrimaryByUser.put(candidate.request().getUserId(), candidate.accountId());
+            }
+        }
+
+        // Only a user whose new primary row actually went in loses the previous one; a row
+        // skipped by ON CONFLICT leaves the user's primary as it was
+        if (!newPrimaryByUser.isEmpty()) {
+            bankAccountRepository.clearPrimaryAccountsExcept(newPrimaryByUser.keySet(), newPrimaryByUser.values());
+        }
+        return imported;
+    }
+
+    private void finish(Long jobId, ImportStatus status, String failureMessage) {
+        transactionTemplate.executeWithoutResult(tx ->
+                accountImportJobRepository.markFinished(jobId, status, truncate(failureMessage)));
+    }
+
+    private static Path spool(InputStream upload) {
+        Path file = null;
+        try (InputStream in = upload) {
+            file = Files.createTempFile("account-import-", ".upload");
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Could not read import upload", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import upload {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String accountKey(String userId, String accountNumber, String ifscCode) {
+        return userId + '|' + accountNumber + '|' + ifscCode;
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_MESSAGE_LENGTH
+                ? message
+                : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private AccountImportJobResponse mapToResponse(AccountImportJob job, List<AccountImportError> errors) {
+        return AccountImportJobResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .rowsRead(job.getRowsRead())
+                .imported(job.getImported())
+                .duplicates(job.getDuplicates())
+                .rejected(job.getRejected())
+                .failureMessage(job.getFailureMessage())
+                .errors(errors.stream()
+                        .map(error -> AccountImportErrorResponse.builder()
+                                .line(error.getLineNumber())
+                                .message(error.getMessage())
+                                .build())
+                        .collect(Collectors.toList()))
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private record Candidate(long lineNumber, String accountId, String bankId, LinkAccountRequest request) {
+    }
+
+    /**
+     * Per-job state. Bank lookups live for the whole job; the rest is reset after each flush.
+     */
+    private final class ImportBatch {
+
+        private final Long jobId;
+        private final Map<String, Optional<Bank>> banksByPrefix = new HashMap<>();
+        private final Set<String> seenAccountIds = new HashSet<>();
+        private final Set<String> seenAccountKeys = new HashSet<>();
+        private final List<Candidate> candidates = new ArrayList<>();
+        private final List<Object[]> errors = new ArrayList<>();
+        private long errorsRecorded;
+        private long rowsRead;
+        private long duplicates;
+        private long rejected;
+
+        private ImportBatch(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        private void reject(long lineNumber, String message) {
+            rejected++;
+            recordError(lineNumber, message);
+        }
+
+        // A different account whose generated ID is already taken, i.e. the same user, bank and type
+        private void duplicateId(long lineNumber, String accountId) {
+            duplicates++;
+            recordError(lineNumber, "Duplicate account ID " + accountId
+                    + ": the user already has an account of this type at this bank");
+        }
+
+        private void recordError(long lineNumber, String message) {
+            // Past the cap errors are only counted
+            if (errorsRecorded++ < maxErrorsPerJob) {
+                errors.add(new Object[]{jobId, lineNumber, truncate(message)});
+            }
+        }
+
+        private void clear() {
+            seenAccountIds.clear();
+            seenAccountKeys.clear();
+            candidates.clear();
+            errors.clear();
+            rowsRead = 0;
+            duplicates = 0;
+            rejected = 0;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.bank_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-account cache of the current balance (in paise).
+ * <p>
+ * Every entry carries the version stamp of its account's stripe at the time it was read. A posting
+ * bumps the stripe after it commits, so an entry read before that posting is never served again.
+ * Postings also queue the account IDs with the {@link ChangePublisher}, which notifies other
+ * replicas after the commit; they bump the same stripes when it arrives (see {@link BalanceChangeListener}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCache {
+
+    public static final String CHANGE_CHANNEL = "bank_balance_changed";
+
+    private static final int STRIPES = 4096;
+
+    private final ChangePublisher changePublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    // Tags our own notifications so they don't undo the write-through on this replica
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${bank.balance-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bank.balance-cache.max-size:200000}")
+    private long maxSize;
+
+    @Value("${bank.balance-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${bank.balance-cache.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    private Cache<String, CachedBalance> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bank.balance");
+    }
+
+    /**
+     * Return the cached balance, or load it and cache it under the stamp taken before the load.
+     */
+    public long get(String accountId, ToLongFunction<String> loader) {
+        if (!enabled) {
+            return loader.applyAsLong(accountId);
+        }
+
+        long stamp = stamp(accountId);
+        CachedBalance cached = cache.getIfPresent(accountId);
+        if (cached != null && cached.stamp() == stamp) {
+            return cached.balance();
+        }
+
+        long balance = loader.applyAsLong(accountId);
+        // If a posting commits meanwhile it bumps the stamp, and this entry is simply never served
+        cache.put(accountId, new CachedBalance(balance, stamp));
+        return balance;
+    }
+
+    public long stamp(String accountId) {
+        return stamps.get(stripe(accountId));
+    }
+
+    /**
+     * Announce that an account's balance changed in the current transaction.
+     * Other replicas are notified shortly after commit; locally the entry is invalidated after commit.
+     */
+    public void changed(String accountId) {
+        changed(Map.of(accountId, PostedBalance.UNKNOWN));
+    }
+
+    /**
+     * Same as {@link #changed(String)}, but also writes through the balances the transaction
+     * computed under its account locks. A balance is only cached if no other posting on the
+     * same stripe committed since its {@link #stamp} was taken; otherwise it is just invalidated.
+     */
+    public void changed(Map<String, PostedBalance> balances) {
+        if (balances.isEmpty()) {
+            return;
+        }
+        if (notifyEnabled) {
+            changePublisher.publish(CHANGE_CHANNEL, instanceId + ':', ",", balances.keySet());
+        }
+        if (!enabled) {
+            return;
+        }
+
+        Runnable apply = () -> balances.forEach(this::apply);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Handle a change notification; ones sent by this replica were already applied after commit.
+     */
+    public void onNotification(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.startsWith(instanceId + ':')) {
+            return;
+        }
+        for (String accountId : payload.substring(separator + 1).split(",")) {
+            stamps.incrementAndGet(stripe(accountId));
+        }
+    }
+
+    /**
+     * Drop everything, e.g. after the change feed was interrupted and notifications may have been missed.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    private void apply(String accountId, PostedBalance posted) {
+        int stripe = stripe(accountId);
+        long stamp = stamps.incrementAndGet(stripe);
+        if (posted.stamp() >= 0 && stamp == posted.stamp() + 1) {
+            cache.put(accountId, new CachedBalance(posted.balance(), stamp));
+        } else {
+            cache.invalidate(accountId);
+        }
+    }
+
+    private static int stripe(String accountId) {
+        return (accountId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    /**
+     * Balance a transaction computed for an account, and the stamp taken when it read that balance.
+     */
+    public record PostedBalance(long balance, long stamp) {
+
+        static final PostedBalance UNKNOWN = new PostedBalance(0, -1);
+    }
+
+    private record CachedBalance(long balance, long stamp) {
+    }
+}
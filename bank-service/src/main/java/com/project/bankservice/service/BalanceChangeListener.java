@@ -0,0 +1,94 @@
+package com.project.bank_service.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on {@link BalanceCache#CHANGE_CHANNEL} so balances posted by other replicas
+ * are invalidated in this replica's cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceChangeListener {
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DataSource dataSource;
+    private final BalanceCache balanceCache;
+
+    @Value("${bank.balance-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${bank.balance-cache.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    void start() {
+        if (!cacheEnabled || !notifyEnabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "balance-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(POLL_TIMEOUT_MS * 2L);
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BalanceCache.CHANGE_CHANNEL);
+                }
+                // Anything posted while we were not listening may have been missed
+                balanceCache.invalidateAll();
+                log.info("Listening for balance changes on channel {}", BalanceCache.CHANGE_CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        balanceCache.onNotification(notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Balance change listener lost its connection, reconnecting: {}", ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package com.project.bank_service.service;
 
 import com.project.bank_service.dto.request.LinkAccountRequest;
+import com.project.bank_service.dto.request.PostingLegRequest;
+import com.project.bank_service.dto.request.PostingLegRequest.PostingType;
 import com.project.bank_service.dto.response.BankAccountResponse;
+import com.project.bank_service.dto.response.BatchPostingResponse;
+import com.project.bank_service.dto.response.LedgerEntryResponse;
+import com.project.bank_service.dto.response.PostingResultResponse;
+import com.project.bank_service.dto.response.PostingResultResponse.PostingStatus;
 import com.project.bank_service.entity.Bank;
 import com.project.bank_service.entity.BankAccount;
+import com.project.bank_service.entity.LedgerEntry.EntryType;
 import com.project.bank_service.exception.AccountNotFoundException;
 import com.project.bank_service.exception.DuplicateResourceException;
 import com.project.bank_service.exception.InsufficientBalanceException;
 import com.project.bank_service.repository.BankAccountRepository;
+import com.project.bank_service.repository.BankAccountRepository.AccountBalanceView;
+import com.project.bank_service.repository.BankAccountRepository.AccountSummaryView;
+import com.project.bank_service.repository.LedgerEntryRepository;
+import com.project.bank_service.repository.LedgerEntryRepository.DebitOutcome;
+import com.project.bank_service.service.BalanceCache.PostedBalance;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,9 +42,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class BankAccountService {
 
+    private static final int MAX_STATEMENT_ENTRIES = 500;
+
     private final BankAccountRepository bankAccountRepository;
     private final BankService bankService;
     private final IdGeneratorService idGeneratorService;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceCache balanceCache;
+    private final JdbcTemplate jdbcTemplate;
 
     public BankAccountResponse linkAccount(LinkAccountRequest request) {
         log.info("Linking account for user: {}", request.getUserId());
@@ -60,7 +84,6 @@ public class BankAccountService {
                 .ifscCode(request.getIfscCode().toUpperCase())
                 .accountHolderName(request.getAccountHolderName().trim())
                 .accountType(request.getAccountType())
-                .balance(BigDecimal.ZERO)
                 .isPrimary(request.getIsPrimary() || bankAccountRepository.countByUserIdAndActiveTrue(request.getUserId()) == 0)
                 .isVerified(false)
                 .active(true)
@@ -69,7 +92,8 @@ public class BankAccountService {
         account = bankAccountRepository.save(account);
         log.info("Account linked successfully with ID: {}", account.getId());
 
-        return mapToAccountResponse(account);
+        // The saved copy only holds a proxy of the directory's bank; map from the bank itself
+        return mapToAccountResponse(account, bank);
     }
 
     @Transactional(readOnly = true)
@@ -83,7 +107,8 @@ public class BankAccountService {
     @Transactional(readOnly = true)
     public List<BankAccountResponse> getAccountsByUserId(String userId) {
         log.info("Fetching accounts for user: {}", userId);
-        return bankAccountRepository.findAllByUserIdAndActiveTrue(userId)
+        // One join query, balances included, instead of a bank and a balance lookup per account
+        return bankAccountRepository.findSummariesByUserId(userId)
                 .stream()
                 .map(this::mapToAccountResponse)
                 .collect(Collectors.toList());
@@ -113,72 +138,257 @@ public class BankAccountService {
         log.info("Primary account updated successfully");
     }
 
-    public void creditAccount(String accountId, BigDecimal amount) {
-        log.info("Crediting {} to account: {}", amount, accountId);
+    public void creditAccount(String accountId, long amount, String idempotencyKey) {
+        log.info("Crediting {} paise to account: {}", amount, accountId);
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Amount must be positive");
-        }
+        validateAmount(amount);
 
-        if (!bankAccountRepository.existsById(accountId)) {
+        // Credits are a plain insert; no balance row is rewritten
+        if (ledgerEntryRepository.insertCredit(accountId, amount, idempotencyKey) == 0) {
             throw new AccountNotFoundException("id", accountId);
         }
+        balanceCache.changed(accountId);
 
-        bankAccountRepository.creditBalance(accountId, amount);
         log.info("Amount credited successfully");
     }
 
-    public void debitAccount(String accountId, BigDecimal amount) {
-        log.info("Debiting {} from account: {}", amount, accountId);
+    /**
+     * @return the account balance right after the debit, in paise
+     */
+    public long debitAccount(String accountId, long amount, String idempotencyKey) {
+        log.info("Debiting {} paise from account: {}", amount, accountId);
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Amount must be positive");
-        }
+        validateAmount(amount);
 
-        BankAccount account = bankAccountRepository.findByIdAndActiveTrue(accountId)
+        bankAccountRepository.lockForPosting(accountId)
                 .orElseThrow(() -> new AccountNotFoundException("id", accountId));
 
-        int updated = bankAccountRepository.debitBalance(accountId, amount);
-
-        if (updated == 0) {
-            throw new InsufficientBalanceException(accountId, amount, account.getBalance());
+        long cacheStamp = balanceCache.stamp(accountId);
+        DebitOutcome outcome = ledgerEntryRepository.debitIfSufficient(accountId, amount, idempotencyKey);
+        if (!outcome.getApplied()) {
+            throw new InsufficientBalanceException(accountId, amount, outcome.getBalance());
         }
+        balanceCache.changed(Map.of(accountId, new PostedBalance(outcome.getBalance(), cacheStamp)));
 
         log.info("Amount debited successfully");
+        return outcome.getBalance();
     }
 
-    @Transactional(readOnly = true)
-    public BigDecimal getBalance(String accountId) {
+    /**
+     * Apply many credit/debit legs in one transaction and report the result of each leg.
+     */
+    public BatchPostingResponse applyPostings(List<PostingLegRequest> legs) {
+        log.info("Applying batch of {} postings", legs.size());
+
+        List<LegOutcome> outcomes = postLegs(legs);
+
+        List<PostingResultResponse> results = new ArrayList<>(legs.size());
+        int applied = 0;
+        for (int i = 0; i < legs.size(); i++) {
+            LegOutcome outcome = outcomes.get(i);
+            if (outcome.applied()) {
+                applied++;
+                results.add(postingResult(i, legs.get(i), PostingStatus.APPLIED, null));
+            } else {
+                results.add(postingResult(i, legs.get(i), PostingStatus.REJECTED, outcome.rejection().getMessage()));
+            }
+        }
+        log.info("Batch postings applied: {}, rejected: {}", applied, legs.size() - applied);
+
+        return BatchPostingResponse.builder()
+                .total(legs.size())
+                .applied(applied)
+                .rejected(legs.size() - applied)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Append many credit/debit legs to the ledger in one transaction.
+     * Accounts are locked in id order so concurrent batches never deadlock. Each leg is
+     * validated like a single credit/debit and rejected on its own if it fails; the
+     * accepted legs are written as a single JDBC batch.
+     *
+     * @return one outcome per leg, in request order
+     */
+    public List<LegOutcome> postLegs(List<PostingLegRequest> legs) {
+        RuntimeException[] rejections = new RuntimeException[legs.size()];
+        long[] balancesAfter = new long[legs.size()];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < legs.size(); i++) {
+            try {
+                validateAmount(legs.get(i).getAmount());
+                order.add(i);
+            } catch (IllegalArgumentException ex) {
+                rejections[i] = ex;
+            }
+        }
+        order.sort(Comparator.comparing((Integer i) -> legs.get(i).getAccountId()).thenComparingInt(i -> i));
+
+        TreeSet<String> accountIds = new TreeSet<>();
+        order.forEach(i -> accountIds.add(legs.get(i).getAccountId()));
+
+        Map<String, AccountBalanceView> accounts = new HashMap<>();
+        Map<String, Long> cacheStamps = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            // Lock first, then read balances in a fresh statement so committed postings are visible
+            bankAccountRepository.lockAllForPosting(accountIds);
+            // Stamps are taken before the read, so the balances can be written through to the cache
+            accountIds.forEach(id -> cacheStamps.put(id, balanceCache.stamp(id)));
+            bankAccountRepository.findCurrentBalances(accountIds)
+                    .forEach(account -> accounts.put(account.getId(), account));
+        }
+
+        // Running balance per account, in paise
+        Map<String, long[]> balances = new HashMap<>();
+        List<Object[]> entries = new ArrayList<>();
+
+        for (int i : order) {
+            PostingLegRequest leg = legs.get(i);
+            String accountId = leg.getAccountId();
+            AccountBalanceView account = accounts.get(accountId);
+
+            if (account == null || (leg.getType() == PostingType.DEBIT && !account.getActive())) {
+                rejections[i] = new AccountNotFoundException("id", accountId);
+                continue;
+            }
+
+            long[] balance = balances.computeIfAbsent(accountId, id -> new long[]{account.getBalance()});
+
+            if (leg.getType() == PostingType.DEBIT) {
+                if (balance[0] < leg.getAmount()) {
+                    rejections[i] = new InsufficientBalanceException(accountId, leg.getAmount(), balance[0]);
+                    continue;
+                }
+                balance[0] -= leg.getAmount();
+            } else {
+                try {
+                    balance[0] = Math.addExact(balance[0], leg.getAmount());
+                } catch (ArithmeticException ex) {
+                    rejections[i] = new IllegalArgumentException("Amount would overflow the account balance");
+                    continue;
+                }
+            }
+            balancesAfter[i] = balance[0];
+
+            EntryType entryType = leg.getType() == PostingType.CREDIT ? EntryType.CREDIT : EntryType.DEBIT;
+            entries.add(new Object[]{accountId, entryType.name(), leg.getAmount(), leg.getIdempotencyKey()});
+        }
+
+        if (!entries.isEmpty()) {
+            jdbcTemplate.batchUpdate(LedgerEntryRepository.INSERT_ENTRY_SQL, entries);
+
+            Map<String, PostedBalance> posted = new HashMap<>();
+            for (int i : order) {
+                String accountId = legs.get(i).getAccountId();
+                if (rejections[i] == null && !posted.containsKey(accountId)) {
+                    posted.put(accountId, new PostedBalance(balances.get(accountId)[0], cacheStamps.get(accountId)));
+                }
+            }
+            balanceCache.changed(posted);
+        }
+
+        List<LegOutcome> outcomes = new ArrayList<>(legs.size());
+        for (int i = 0; i < legs.size(); i++) {
+            outcomes.add(new LegOutcome(rejections[i], balancesAfter[i]));
+        }
+        return outcomes;
+    }
+
+    // No transaction of its own, so cache hits never take a database connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long getBalance(String accountId) {
         log.info("Fetching balance for account: {}", accountId);
-        BankAccount account = bankAccountRepository.findByIdAndActiveTrue(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("id", accountId));
-        return account.getBalance();
+        return balanceCache.get(accountId, id -> bankAccountRepository.findCurrentBalance(id)
+                .orElseThrow(() -> new AccountNotFoundException("id", id)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerEntryResponse> getStatement(String accountId, int limit) {
+        limit = Math.max(1, Math.min(limit, MAX_STATEMENT_ENTRIES));
+        log.info("Fetching last {} ledger entries for account: {}", limit, accountId);
+        if (!bankAccountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("id", accountId);
+        }
+        return ledgerEntryRepository.findAllByAccountIdOrderByIdDesc(accountId, PageRequest.of(0, limit))
+                .stream()
+                .map(entry -> LedgerEntryResponse.builder()
+                        .id(entry.getId())
+                        .accountId(entry.getAccountId())
+                        .entryType(entry.getEntryType())
+                        .amount(entry.getAmountPaise())
+                        .createdAt(entry.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     public void verifyAccount(String accountId) {
         log.info("Verifying account: {}", accountId);
-        if (!bankAccountRepository.existsById(accountId)) {
+        // Zero rows updated means there is no such account
+        if (bankAccountRepository.verifyAccount(accountId) == 0) {
             throw new AccountNotFoundException("id", accountId);
         }
-        bankAccountRepository.verifyAccount(accountId);
         log.info("Account verified successfully");
     }
 
     public void deactivateAccount(String accountId) {
         log.info("Deactivating account: {}", accountId);
-        if (!bankAccountRepository.existsById(accountId)) {
+        if (bankAccountRepository.deactivateAccount(accountId) == 0) {
             throw new AccountNotFoundException("id", accountId);
         }
-        bankAccountRepository.deactivateAccount(accountId);
+        balanceCache.changed(accountId);
         log.info("Account deactivated successfully");
     }
 
+    private void validateAmount(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+
+    private PostingResultResponse postingResult(int index, PostingLegRequest leg, PostingStatus status, String message) {
+        return PostingResultResponse.builder()
+                .index(index)
+                .accountId(leg.getAccountId())
+                .type(leg.getType())
+                .amount(leg.getAmount())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private long resolveBalance(BankAccount account) {
+        return bankAccountRepository.findCurrentBalance(account.getId()).orElse(account.getBalancePaise() - account.getHeldPaise());
+    }
+
     private BankAccountResponse mapToAccountResponse(BankAccount account) {
+        return mapToAccountResponse(account, account.getBank());
+    }
+
+    private BankAccountResponse mapToAccountResponse(BankAccount account, Bank bank) {
         return BankAccountResponse.builder()
                 .id(account.getId())
                 .userId(account.getUserId())
-                .bankName(account.getBank().getBankName())
-                .bankCode(account.getBank().getBankCode())
+                .bankName(bank.getBankName())
+                .bankCode(bank.getBankCode())
+                .maskedAccountNumber(BankAccountResponse.maskAccountNumber(account.getAccountNumber()))
+                .ifscCode(account.getIfscCode())
+                .accountHolderName(account.getAccountHolderName())
+                .accountType(account.getAccountType())
+                .balance(resolveBalance(account))
+                .isPrimary(account.getIsPrimary())
+                .isVerified(account.getIsVerified())
+                .active(account.getActive())
+                .createdAt(account.getCreatedAt())
+                .build();
+    }
+
+    private BankAccountResponse mapToAccountResponse(AccountSummaryView account) {
+        return BankAccountResponse.builder()
+                .id(account.getId())
+                .userId(account.getUserId())
+                .bankName(account.getBankName())
+                .bankCode(account.getBankCode())
                 .maskedAccountNumber(BankAccountResponse.maskAccountNumber(account.getAccountNumber()))
                 .ifscCode(account.getIfscCode())
                 .accountHolderName(account.getAccountHolderName())
@@ -190,4 +400,14 @@ public class BankAccountService {
                 .createdAt(account.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Result of one posting leg: the rejection, or null and the account balance right after the leg (paise).
+     */
+    public record LegOutcome(RuntimeException rejection, long balanceAfter) {
+
+        public boolean applied() {
+            return rejection == null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.bank_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.bank_service.dto.response.BankResponse;
+import com.project.bank_service.dto.response.RawJson;
+import com.project.bank_service.entity.Bank;
+import com.project.bank_service.repository.BankRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Memory-resident directory of active banks.
+ * <p>
+ * The whole table is held as one immutable snapshot, indexed by id, bank code and IFSC prefix, with
+ * the list responses already serialized. A new snapshot is swapped in after a bank is created here,
+ * or when the periodic version check sees the table changed (e.g. a bank created on another replica).
+ * The bank entities in a snapshot are detached and shared, so callers must not modify them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BankDirectory {
+
+    private final BankRepository bankRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Reload if the table's version (row count and latest update) differs from the snapshot's.
+     */
+    @Scheduled(initialDelayString = "${bank.directory.check-interval-ms:30000}",
+            fixedDelayString = "${bank.directory.check-interval-ms:30000}")
+    public void checkVersion() {
+        if (!bankRepository.findDirectoryVersion().equals(snapshot.version())) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reload once the current transaction commits, or right away outside one.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    public synchronized void refresh() {
+        // Version first: a change made during the load is then seen by the next check
+        String version = bankRepository.findDirectoryVersion();
+        List<Bank> banks = bankRepository.findAllByActiveTrue();
+
+        Map<String, Bank> byId = new HashMap<>();
+        Map<String, Bank> byCode = new HashMap<>();
+        Map<String, Bank> byIfscPrefix = new HashMap<>();
+        for (Bank bank : banks) {
+            byId.put(bank.getId(), bank);
+            byCode.put(bank.getBankCode(), bank);
+            byIfscPrefix.put(bank.getIfscPrefix(), bank);
+        }
+        List<BankResponse> all = banks.stream().map(BankDirectory::toResponse).toList();
+        List<BankResponse> upiEnabled = all.stream().filter(bank -> Boolean.TRUE.equals(bank.getUpiEnabled())).toList();
+
+        snapshot = new Snapshot(version, Map.copyOf(byId), Map.copyOf(byCode), Map.copyOf(byIfscPrefix),
+                all, upiEnabled, new RawJson(serialize(all)), new RawJson(serialize(upiEnabled)));
+        log.info("Bank directory loaded {} banks (version {})", banks.size(), version);
+    }
+
+    public Optional<Bank> findById(String bankId) {
+        return Optional.ofNullable(snapshot.byId().get(bankId));
+    }
+
+    public Optional<Bank> findByCode(String bankCode) {
+        return Optional.ofNullable(snapshot.byCode().get(bankCode));
+    }
+
+    public Optional<Bank> findByIfscPrefix(String ifscPrefix) {
+        return Optional.ofNullable(snapshot.byIfscPrefix().get(ifscPrefix));
+    }
+
+    public List<BankResponse> all() {
+        return snapshot.all();
+    }
+
+    public List<BankResponse> upiEnabled() {
+        return snapshot.upiEnabled();
+    }
+
+    public RawJson allJson() {
+        return snapshot.allJson();
+    }
+
+    public RawJson upiEnabledJson() {
+        return snapshot.upiEnabledJson();
+    }
+
+    static BankResponse toResponse(Bank bank) {
+        return BankResponse.builder()
+                .id(bank.getId())
+                .bankName(bank.getBankName())
+                .bankCode(bank.getBankCode())
+                .ifscPrefix(bank.getIfscPrefix())
+                .logoUrl(bank.getLogoUrl())
+                .upiEnabled(bank.getUpiEnabled())
+                .impsEnabled(bank.getImpsEnabled())
+                .neftEnabled(bank.getNeftEnabled())
+                .rtgsEnabled(bank.getRtgsEnabled())
+                .active(bank.getActive())
+                .createdAt(bank.getCreatedAt())
+                .build();
+    }
+
+    private String serialize(List<BankResponse> responses) {
+        try {
+            return objectMapper.writeValueAsString(responses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize bank directory", e);
+        }
+    }
+
+    private record Snapshot(String version, Map<String, Bank> byId, Map<String, Bank> byCode,
+                            Map<String, Bank> byIfscPrefix, List<BankResponse> all, List<BankResponse> upiEnabled,
+                            RawJson allJson, RawJson upiEnabledJson) {
+    }
+}
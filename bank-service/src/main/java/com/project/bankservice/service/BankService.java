@@ -2,6 +2,7 @@ package com.project.bank_service.service;
 
 import com.project.bank_service.dto.request.CreateBankRequest;
 import com.project.bank_service.dto.response.BankResponse;
+import com.project.bank_service.dto.response.RawJson;
 import com.project.bank_service.entity.Bank;
 import com.project.bank_service.exception.BankNotFoundException;
 import com.project.bank_service.exception.DuplicateResourceException;
@@ -9,10 +10,10 @@ import com.project.bank_service.repository.BankRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +23,7 @@ public class BankService {
 
     private final BankRepository bankRepository;
     private final IdGeneratorService idGeneratorService;
+    private final BankDirectory bankDirectory;
 
     public BankResponse createBank(CreateBankRequest request) {
         log.info("Creating new bank: {}", request.getBankName());
@@ -51,64 +53,66 @@ public class BankService {
                 .build();
 
         bank = bankRepository.save(bank);
+        bankDirectory.refreshAfterCommit();
         log.info("Bank created successfully with ID: {}", bank.getId());
 
-        return mapToBankResponse(bank);
+        return BankDirectory.toResponse(bank);
     }
 
-    @Transactional(readOnly = true)
+    // Reads below are served from the bank directory and need no transaction
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BankResponse getBankById(String bankId) {
         log.info("Fetching bank by ID: {}", bankId);
-        Bank bank = bankRepository.findByIdAndActiveTrue(bankId)
+        Bank bank = bankDirectory.findById(bankId)
                 .orElseThrow(() -> new BankNotFoundException("id", bankId));
-        return mapToBankResponse(bank);
+        return BankDirectory.toResponse(bank);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BankResponse getBankByCode(String bankCode) {
         log.info("Fetching bank by code: {}", bankCode);
-        Bank bank = bankRepository.findByBankCodeAndActiveTrue(bankCode.toUpperCase())
+        Bank bank = bankDirectory.findByCode(bankCode.toUpperCase())
                 .orElseThrow(() -> new BankNotFoundException("bankCode", bankCode));
-        return mapToBankResponse(bank);
+        return BankDirectory.toResponse(bank);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BankResponse> getAllBanks() {
         log.info("Fetching all active banks");
-        return bankRepository.findAllByActiveTrue()
-                .stream()
-                .map(this::mapToBankResponse)
-                .collect(Collectors.toList());
+        return bankDirectory.all();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BankResponse> getUpiEnabledBanks() {
         log.info("Fetching all UPI-enabled banks");
-        return bankRepository.findAllByUpiEnabledTrueAndActiveTrue()
-                .stream()
-                .map(this::mapToBankResponse)
-                .collect(Collectors.toList());
+        return bankDirectory.upiEnabled();
     }
 
-    @Transactional(readOnly = true)
-    public Bank getBankEntityById(String bankId) {
-        return bankRepository.findByIdAndActiveTrue(bankId)
-                .orElseThrow(() -> new BankNotFoundException("id", bankId));
+    /**
+     * All active banks as the JSON array serialized when the directory was loaded.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public RawJson getAllBanksJson() {
+        log.info("Fetching all active banks");
+        return bankDirectory.allJson();
     }
 
-    private BankResponse mapToBankResponse(Bank bank) {
-        return BankResponse.builder()
-                .id(bank.getId())
-                .bankName(bank.getBankName())
-                .bankCode(bank.getBankCode())
-                .ifscPrefix(bank.getIfscPrefix())
-                .logoUrl(bank.getLogoUrl())
-                .upiEnabled(bank.getUpiEnabled())
-                .impsEnabled(bank.getImpsEnabled())
-                .neftEnabled(bank.getNeftEnabled())
-                .rtgsEnabled(bank.getRtgsEnabled())
-                .active(bank.getActive())
-                .createdAt(bank.getCreatedAt())
-                .build();
+    /**
+     * UPI-enabled banks as the JSON array serialized when the directory was loaded.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public RawJson getUpiEnabledBanksJson() {
+        log.info("Fetching all UPI-enabled banks");
+        return bankDirectory.upiEnabledJson();
+    }
+
+    /**
+     * Bank entity from the directory; it is detached and shared, so it must not be modified.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Bank getBankEntityById(String bankId) {
+        return bankDirectory.findById(bankId)
+                .orElseThrow(() -> new BankNotFoundException("id", bankId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.project.bank_service.service;
+
+import com.project.bank_service.entity.AccountHold;
+import com.project.bank_service.entity.AccountHold.HoldStatus;
+import com.project.bank_service.repository.AccountHoldRepository;
+import com.project.bank_service.repository.AccountHoldRepository.PendingHoldView;
+import com.project.bank_service.timer.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Releases holds when they expire.
+ * Pending holds live in an in-process hierarchical timing wheel, loaded once at startup and fed
+ * by every new hold after it commits, so expiry never scans the holds table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldExpiryService {
+
+    private static final int LOAD_PAGE_SIZE = 10000;
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private final AccountHoldRepository accountHoldRepository;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${bank.holds.expiry.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${bank.holds.expiry.wheel-size:512}")
+    private int wheelSize;
+
+    private HierarchicalTimingWheel<HoldTimer> wheel;
+    private Counter expiredCounter;
+
+    @PostConstruct
+    void init() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        Gauge.builder("bank.holds.pending.timers", wheel, HierarchicalTimingWheel::size)
+                .description("Hold expiry timers waiting in the timing wheel")
+                .register(meterRegistry);
+        expiredCounter = Counter.builder("bank.holds.expired")
+                .description("Holds released because they expired")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        long afterId = 0;
+        long loaded = 0;
+        List<PendingHoldView> page;
+        do {
+            page = accountHoldRepository.findPendingHolds(afterId, LOAD_PAGE_SIZE);
+            for (PendingHoldView hold : page) {
+                schedule(new HoldTimer(hold.getId(), hold.getAccountId()), hold.getExpiresAt());
+                afterId = hold.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        log.info("Scheduled expiry for {} pending holds", loaded);
+    }
+
+    /**
+     * Start the expiry timer once the transaction that created the hold commits.
+     */
+    public void scheduleAfterCommit(AccountHold hold) {
+        HoldTimer timer = new HoldTimer(hold.getId(), hold.getAccountId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(timer, hold.getExpiresAt());
+                }
+            });
+        } else {
+            schedule(timer, hold.getExpiresAt());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.holds.expiry.tick-ms:100}")
+    public void expireDueHolds() {
+        List<HoldTimer> due = wheel.advanceTo(System.currentTimeMillis());
+        for (HoldTimer timer : due) {
+            try {
+                // Captured or released holds are simply no longer HELD, so their timers do nothing
+                Boolean expired = transactionTemplate.execute(status -> expire(timer));
+                if (Boolean.TRUE.equals(expired)) {
+                    expiredCounter.increment();
+                    log.info("Hold {} on account {} expired", timer.holdId(), timer.accountId());
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to expire hold {}, retrying: {}", timer.holdId(), ex.getMessage());
+                wheel.schedule(timer, System.currentTimeMillis() + RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private boolean expire(HoldTimer timer) {
+        if (accountHoldRepository.release(timer.holdId(), timer.accountId(), HoldStatus.EXPIRED.name()) == 0) {
+            return false;
+        }
+        balanceCache.changed(timer.accountId());
+        return true;
+    }
+
+    private void schedule(HoldTimer timer, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // Already-expired holds go into the next tick
+        wheel.schedule(timer, Math.max(deadline, System.currentTimeMillis()));
+    }
+
+    private record HoldTimer(long holdId, String accountId) {
+    }
+}
@@ -1,12 +1,20 @@
 package com.project.bank_service.service;
 
 import com.project.bank_service.entity.BankAccount.AccountType;
-import com.project.bank_service.entity.IdSequence;
 import com.project.bank_service.repository.IdSequenceRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -14,15 +22,29 @@ import org.springframework.transaction.annotation.Transactional;
 public class IdGeneratorService {
 
     private final IdSequenceRepository idSequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Bank IDs only have three sequence digits, so they are leased one at a time
+    @Value("${bank.id-generator.block-size.bank:1}")
+    private int bankBlockSize;
+
+    private final ConcurrentMap<String, AtomicReference<IdBlock>> blocks = new ConcurrentHashMap<>();
+    private TransactionTemplate leaseTransaction;
+
+    @PostConstruct
+    void init() {
+        // Leases commit on their own so a rolled-back caller never hands its block out twice
+        leaseTransaction = new TransactionTemplate(transactionManager);
+        leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * Generate Bank ID like BSBI001, BHDFC002
      * Format: B + bankCode + 3-digit sequence
      */
-    @Transactional
     public String generateBankId(String bankCode) {
         String sequenceName = "BANK_" + bankCode.toUpperCase();
-        long nextValue = getNextSequenceValue(sequenceName, 1L);
+        long nextValue = getNextSequenceValue(sequenceName, 1L, bankBlockSize);
         String bankId = "B" + bankCode.toUpperCase() + String.format("%03d", nextValue);
         log.debug("Generated Bank ID: {}", bankId);
         return bankId;
@@ -32,7 +54,6 @@ public class IdGeneratorService {
      * Generate Account ID like A100001SBISAV, A100001HDFCCUR
      * Format: A + userSequence + bankCode + accountTypeShort
      */
-    @Transactional
     public String generateAccountId(String userId, String bankCode, AccountType accountType) {
         // Extract user sequence from userId (e.g., U100001 -> 100001)
         String userSeq = userId.startsWith("U") ? userId.substring(1) : userId;
@@ -58,21 +79,54 @@ public class IdGeneratorService {
     }
 
     /**
-     * Get next sequence value (thread-safe)
+     * Get next sequence value (thread-safe). Values are handed out from a block
+     * leased from id_sequences, so the row is only touched once per block.
+     * Unused values of a block are lost on restart, leaving gaps in the series.
      */
-    private long getNextSequenceValue(String sequenceName, long startValue) {
-        IdSequence sequence = idSequenceRepository.findBySequenceNameForUpdate(sequenceName)
+    private long getNextSequenceValue(String sequenceName, long startValue, int blockSize) {
+        AtomicReference<IdBlock> current = blocks.computeIfAbsent(sequenceName,
+                name -> new AtomicReference<>(IdBlock.EMPTY));
+        long value = current.get().take();
+        if (value >= 0) {
+            return value;
+        }
+        synchronized (current) {
+            while ((value = current.get().take()) < 0) {
+                long end = leaseBlock(sequenceName, startValue, blockSize);
+                current.set(new IdBlock(end - blockSize, end));
+            }
+        }
+        return value;
+    }
+
+    private long leaseBlock(String sequenceName, long startValue, int blockSize) {
+        long end = leaseTransaction.execute(status -> idSequenceRepository.leaseBlock(sequenceName, blockSize)
                 .orElseGet(() -> {
-                    IdSequence newSeq = new IdSequence();
-                    newSeq.setSequenceName(sequenceName);
-                    newSeq.setCurrentValue(startValue);
-                    return idSequenceRepository.save(newSeq);
-                });
+                    idSequenceRepository.initSequence(sequenceName, startValue);
+                    return idSequenceRepository.leaseBlock(sequenceName, blockSize).orElseThrow();
+                }));
+        log.debug("Leased {} values of {} ending before {}", blockSize, sequenceName, end);
+        return end;
+    }
+
+    /**
+     * Leased range [next, limit); exhausted once take() passes the limit.
+     */
+    private static final class IdBlock {
+
+        static final IdBlock EMPTY = new IdBlock(0, 0);
+
+        private final AtomicLong next;
+        private final long limit;
 
-        long currentValue = sequence.getCurrentValue();
-        sequence.setCurrentValue(currentValue + 1);
-        idSequenceRepository.save(sequence);
+        IdBlock(long from, long limit) {
+            this.next = new AtomicLong(from);
+            this.limit = limit;
+        }
 
-        return currentValue;
+        long take() {
+            long value = next.getAndIncrement();
+            return value < limit ? value : -1;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+package com.project.bank_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.bank_service.dto.response.ApiResponse;
+import com.project.bank_service.entity.IdempotencyRecord;
+import com.project.bank_service.exception.AccountNotFoundException;
+import com.project.bank_service.exception.IdempotencyConflictException;
+import com.project.bank_service.exception.InsufficientBalanceException;
+import com.project.bank_service.exception.ServiceOverloadedException;
+import com.project.bank_service.repository.IdempotencyRecordRepository;
+import com.project.bank_service.repository.LedgerEntryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes credits and debits safe to retry under an Idempotency-Key.
+ * Completed responses are served from a bounded, TTL-evicted cache; the idempotency_keys
+ * table is the source of truth across instances and restarts.
+ * <p>
+ * A key is only handed back for a retry when the request was rejected before anything was written.
+ * Any other failure, such as a connection lost during COMMIT, leaves the outcome unknown: the key is
+ * marked UNKNOWN and settled later from the ledger entry that carries it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Keys currently executing on this instance, so local retries never reach the database
+    private final Map<String, KeyedRequest> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${bank.idempotency.cache.max-size:100000}")
+    private long cacheMaxSize;
+
+    @Value("${bank.idempotency.cache.ttl-minutes:10}")
+    private long cacheTtlMinutes;
+
+    @Value("${bank.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${bank.idempotency.settle-after-seconds:30}")
+    private long settleAfterSeconds;
+
+    private Cache<String, StoredResponse> completed;
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    /**
+     * Run the action once per key. A retry with the same key gets the stored response back
+     * without the action running again; a key reused for a different request is rejected.
+     */
+    public <T> ResponseEntity<ApiResponse<T>> execute(String key, String accountId, String operation, long amount,
+                                                      Class<T> dataType, Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        KeyedRequest request = new KeyedRequest(accountId, operation, amount);
+
+        StoredResponse stored = completed.getIfPresent(key);
+        if (stored != null) {
+            return replay(key, request, stored);
+        }
+
+        if (inFlight.putIfAbsent(key, request) != null) {
+            throw new IdempotencyConflictException(key, "is already being processed");
+        }
+        try {
+            Integer claimed = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.claim(key, accountId, operation, amount));
+            if (claimed == null || claimed == 0) {
+                return replay(key, request, loadCompleted(key, dataType));
+            }
+
+            ResponseEntity<ApiResponse<T>> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException ex) {
+                if (isRejection(ex)) {
+                    // Nothing was applied, so the key is free for a corrected retry
+                    release(key);
+                } else {
+                    // The posting may have committed; retries are refused until the ledger settles it
+                    markUnknown(key);
+                }
+                throw ex;
+            }
+
+            record(key, request, response);
+            return response;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer purged = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteOlderThan(cutoff));
+        log.debug("Purged {} idempotency keys created before {}", purged, cutoff);
+    }
+
+    /**
+     * Settle keys whose posting failed with an unknown outcome. Once in-doubt commits have had time
+     * to finish, a ledger entry carrying the key means the posting went through, and the key is
+     * completed with the usual success response (a debit's resulting balance is not recoverable, so
+     * it replays without one); no entry means it rolled back, and the key is released for a retry.
+     */
+    @Scheduled(fixedDelayString = "${bank.idempotency.settle-interval-ms:10000}")
+    public void settleUnknownKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(settleAfterSeconds);
+        for (IdempotencyRecord record : idempotencyRecordRepository.findUnknownCreatedBefore(cutoff)) {
+            String key = record.getIdempotencyKey();
+            try {
+                if (ledgerEntryRepository.existsByIdempotencyKey(key)) {
+                    ApiResponse<?> body = ApiResponse.success("CREDIT".equals(record.getOperation())
+                            ? "Amount credited successfully"
+                            : "Amount debited successfully");
+                    String json = objectMapper.writeValueAsString(body);
+                    transactionTemplate.executeWithoutResult(status ->
+                            idempotencyRecordRepository.complete(key, 200, json));
+                    log.warn("Idempotency-Key {} settled as applied after an interrupted posting", key);
+                } else {
+                    release(key);
+                    log.warn("Idempotency-Key {} released; its interrupted posting was not applied", key);
+                }
+            } catch (JsonProcessingException | RuntimeException ex) {
+                log.error("Failed to settle Idempotency-Key {}: {}", key, ex.getMessage());
+            }
+        }
+    }
+
+    // Thrown before anything is written: the posting was refused on validation or balance, or never queued
+    private static boolean isRejection(RuntimeException ex) {
+        return ex instanceof IllegalArgumentException
+                || ex instanceof AccountNotFoundException
+                || ex instanceof InsufficientBalanceException
+                || ex instanceof ServiceOverloadedException;
+    }
+
+    private StoredResponse loadCompleted(String key, Class<?> dataType) {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(key)
+                .orElseThrow(() -> new IdempotencyConflictException(key, "is already being processed"));
+        if (record.getStatus() == IdempotencyRecord.Status.UNKNOWN) {
+            throw new IdempotencyConflictException(key, "has an outcome that is still being confirmed; retry later");
+        }
+        if (record.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+            throw new IdempotencyConflictException(key, "is already being processed");
+        }
+
+        StoredResponse stored = new StoredResponse(
+                new KeyedRequest(record.getAccountId(), record.getOperation(), record.getAmountPaise()),
+                record.getHttpStatus(),
+                readBody(record.getResponseBody(), dataType));
+        completed.put(key, stored);
+        return stored;
+    }
+
+    private void record(String key, KeyedRequest request, ResponseEntity<? extends ApiResponse<?>> response) {
+        int httpStatus = response.getStatusCode().value();
+        // Cache first: if the database write below fails, local retries still replay correctly
+        completed.put(key, new StoredResponse(request, httpStatus, response.getBody()));
+        try {
+            String body = objectMapper.writeValueAsString(response.getBody());
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.complete(key, httpStatus, body));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.error("Failed to store response for Idempotency-Key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private void release(String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.release(key));
+        } catch (RuntimeException ex) {
+            log.error("Failed to release Idempotency-Key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private void markUnknown(String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.markUnknown(key));
+        } catch (RuntimeException ex) {
+            // Still IN_PROGRESS, which refuses retries just the same until the key is purged
+            log.error("Failed to mark Idempotency-Key {} as unknown: {}", key, ex.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<ApiResponse<T>> replay(String key, KeyedRequest request, StoredResponse stored) {
+        if (!stored.request().matches(request)) {
+            throw new IdempotencyConflictException(key, "was already used for a different request");
+        }
+        log.info("Replaying stored response for Idempotency-Key: {}", key);
+        // Same operation as the original request, so the stored body has the same data type
+        return ResponseEntity
+                .status(HttpStatusCode.valueOf(stored.httpStatus()))
+                .header(REPLAYED_HEADER, "true")
+                .body((ApiResponse<T>) stored.body());
+    }
+
+    private ApiResponse<?> readBody(String body, Class<?> dataType) {
+        try {
+            return objectMapper.readValue(body,
+                    objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored idempotent response is not readable", ex);
+        }
+    }
+
+    private record KeyedRequest(String accountId, String operation, long amount) {
+
+        boolean matches(KeyedRequest other) {
+            return accountId.equals(other.accountId)
+                    && operation.equals(other.operation)
+                    && amount == other.amount;
+        }
+    }
+
+    private record StoredResponse(KeyedRequest request, int httpStatus, ApiResponse<?> body) {
+    }
+}
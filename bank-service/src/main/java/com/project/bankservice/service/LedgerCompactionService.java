@@ -0,0 +1,62 @@
+package com.project.bank_service.service;
+
+import com.project.bank_service.repository.BankAccountRepository;
+import com.project.bank_service.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically folds ledger entries into the account snapshot (balance + snapshot_entry_id)
+ * so balance reads only have to sum a short tail of entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerCompactionService {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bank.ledger.compaction.min-entries:100}")
+    private int minEntries;
+
+    @Value("${bank.ledger.compaction.max-accounts-per-run:500}")
+    private int maxAccountsPerRun;
+
+    @Scheduled(fixedDelayString = "${bank.ledger.compaction.interval-ms:60000}")
+    public void compact() {
+        List<String> accountIds = ledgerEntryRepository.findAccountsDueForCompaction(minEntries, maxAccountsPerRun);
+        if (accountIds.isEmpty()) {
+            return;
+        }
+
+        int compacted = 0;
+        for (String accountId : accountIds) {
+            try {
+                // One short transaction per account so a hot account only stalls its own postings
+                Boolean rolled = transactionTemplate.execute(status -> compactAccount(accountId));
+                if (Boolean.TRUE.equals(rolled)) {
+                    compacted++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Ledger compaction failed for account {}: {}", accountId, ex.getMessage());
+            }
+        }
+        log.debug("Ledger compaction rolled {} of {} accounts forward", compacted, accountIds.size());
+    }
+
+    private boolean compactAccount(String accountId) {
+        if (bankAccountRepository.lockForCompaction(accountId).isEmpty()) {
+            return false;
+        }
+        // Separate statement after the lock, so it sees every posting that committed while we waited
+        return bankAccountRepository.rollSnapshotForward(accountId) > 0;
+    }
+}
@@ -0,0 +1,218 @@
+package com.project.bank_service.service;
+
+import com.project.bank_service.dto.request.PostingLegRequest;
+import com.project.bank_service.dto.request.PostingLegRequest.PostingType;
+import com.project.bank_service.exception.ServiceOverloadedException;
+import com.project.bank_service.service.BankAccountService.LegOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit front end for single credits and debits.
+ * Callers enqueue a posting and block on its future; one writer thread drains the queue in
+ * micro-batches and commits each batch in a single transaction via {@link BankAccountService#postLegs}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostingPipeline {
+
+    private final BankAccountService bankAccountService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${bank.postings.pipeline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bank.postings.pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${bank.postings.pipeline.max-batch-size:256}")
+    private int maxBatchSize;
+
+    @Value("${bank.postings.pipeline.max-batch-delay-ms:2}")
+    private long maxBatchDelayMs;
+
+    @Value("${bank.postings.pipeline.enqueue-timeout-ms:100}")
+    private long enqueueTimeoutMs;
+
+    private BlockingQueue<PendingPosting> queue;
+    private DistributionSummary batchSizeSummary;
+    private Timer batchCommitTimer;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Posting pipeline disabled; credits and debits commit individually");
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSizeSummary = DistributionSummary.builder("bank.postings.batch.size")
+                .description("Postings committed per group-commit transaction")
+                .register(meterRegistry);
+        batchCommitTimer = Timer.builder("bank.postings.batch.commit")
+                .description("Time to commit one group-commit batch")
+                .register(meterRegistry);
+        Gauge.builder("bank.postings.queue.depth", queue, BlockingQueue::size)
+                .description("Postings waiting for the writer")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::drainLoop, "posting-pipeline-writer");
+        writer.start();
+        log.info("Posting pipeline started (batch size {}, window {} ms, queue capacity {})",
+                maxBatchSize, maxBatchDelayMs, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer keeps going until the queue is empty, so accepted postings are not dropped
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * @param idempotencyKey recorded on the ledger entry, or null
+     */
+    public void credit(String accountId, long amount, String idempotencyKey) {
+        if (!enabled) {
+            bankAccountService.creditAccount(accountId, amount, idempotencyKey);
+            return;
+        }
+        submit(accountId, PostingType.CREDIT, amount, idempotencyKey);
+    }
+
+    /**
+     * @param idempotencyKey recorded on the ledger entry, or null
+     * @return the account balance right after the debit, in paise
+     */
+    public long debit(String accountId, long amount, String idempotencyKey) {
+        if (!enabled) {
+            return bankAccountService.debitAccount(accountId, amount, idempotencyKey);
+        }
+        return submit(accountId, PostingType.DEBIT, amount, idempotencyKey);
+    }
+
+    private long submit(String accountId, PostingType type, long amount, String idempotencyKey) {
+        log.debug("Queueing {} of {} paise for account: {}", type, amount, accountId);
+
+        PendingPosting posting = new PendingPosting(
+                PostingLegRequest.builder()
+                        .accountId(accountId)
+                        .type(type)
+                        .amount(amount)
+                        .idempotencyKey(idempotencyKey)
+                        .build(),
+                new CompletableFuture<>());
+
+        boolean accepted = false;
+        if (running) {
+            try {
+                accepted = queue.offer(posting, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!accepted) {
+            throw new ServiceOverloadedException("Posting queue is full. Please retry shortly.");
+        }
+
+        try {
+            return posting.result().join();
+        } catch (CompletionException ex) {
+            // Surface the original rejection so the usual exception handlers apply
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+        long maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMs);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPosting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Collect until the batch is full or the window since the first posting has passed
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingPosting next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                // Commit what has been collected; the loop exits once stop() has been called
+                Thread.interrupted();
+            }
+
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+        log.info("Posting pipeline writer stopped");
+    }
+
+    private void commit(List<PendingPosting> batch) {
+        batchSizeSummary.record(batch.size());
+
+        List<PostingLegRequest> legs = new ArrayList<>(batch.size());
+        batch.forEach(posting -> legs.add(posting.leg()));
+
+        try {
+            List<LegOutcome> outcomes = batchCommitTimer.record(() -> bankAccountService.postLegs(legs));
+            for (int i = 0; i < batch.size(); i++) {
+                LegOutcome outcome = outcomes.get(i);
+                if (outcome.applied()) {
+                    batch.get(i).result().complete(outcome.balanceAfter());
+                } else {
+                    batch.get(i).result().completeExceptionally(outcome.rejection());
+                }
+            }
+        } catch (RuntimeException ex) {
+            // The outcome is unknown: the batch rolled back, or it committed and the connection was lost
+            // before the commit was acknowledged. Callers must not treat this as a rejection; keyed
+            // postings are settled from the ledger by IdempotencyService.
+            log.error("Posting batch of {} failed: {}", batch.size(), ex.getMessage());
+            batch.forEach(posting -> posting.result().completeExceptionally(ex));
+        }
+    }
+
+    private record PendingPosting(PostingLegRequest leg, CompletableFuture<Long> result) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.bank_service.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for large numbers of coarse-grained timeouts.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of {@code tickMs} each; every higher level has the same number
+ * of slots, each as wide as a full turn of the level below. Scheduling and expiry are O(1) per timer
+ * (plus one cascade per level), independent of how many timers are pending. Timers never fire early;
+ * they fire at most one tick late, on the next {@link #advanceTo} call after their deadline.
+ * <p>
+ * Cancelling is not supported: callers are expected to ignore timers whose work is already done.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<List<List<Timer<T>>>> levels = new ArrayList<>();
+
+    private long currentTime;  // Start of the level-0 tick that has not fired yet
+    private long size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+    }
+
+    /**
+     * Add a timer.
+     *
+     * @return false if the deadline has already passed; the caller should run it right away
+     */
+    public synchronized boolean schedule(T task, long deadlineMs) {
+        if (deadlineMs < currentTime) {
+            return false;
+        }
+        place(new Timer<>(task, deadlineMs));
+        size++;
+        return true;
+    }
+
+    /**
+     * Move the clock forward to {@code nowMs} and return every timer whose tick has fully passed.
+     */
+    public synchronized List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            List<Timer<T>> due = slot(0, currentTime);
+            if (!due.isEmpty()) {
+                due.forEach(timer -> expired.add(timer.task()));
+                size -= due.size();
+                due.clear();
+            }
+            currentTime += tickMs;
+            cascade();
+        }
+        return expired;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        long levelTick = tickMs;
+        for (int level = 0; ; level++) {
+            // Distance in this level's slots; the timer belongs to the first level it fits in
+            if (timer.deadlineMs() / levelTick - currentTime / levelTick < wheelSize) {
+                slot(level, timer.deadlineMs()).add(timer);
+                return;
+            }
+            levelTick *= wheelSize;
+        }
+    }
+
+    /**
+     * At the start of each higher-level slot, move its timers down to the finer levels.
+     */
+    private void cascade() {
+        long levelTick = tickMs * wheelSize;
+        for (int level = 1; level < levels.size() && currentTime % levelTick == 0; level++) {
+            List<Timer<T>> slot = slot(level, currentTime);
+            if (!slot.isEmpty()) {
+                List<Timer<T>> timers = new ArrayList<>(slot);
+                slot.clear();
+                timers.forEach(this::place);
+            }
+            levelTick *= wheelSize;
+        }
+    }
+
+    private List<Timer<T>> slot(int level, long timeMs) {
+        while (levels.size() <= level) {
+            List<List<Timer<T>>> slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new ArrayList<>(0));
+            }
+            levels.add(slots);
+        }
+        long levelTick = tickMs;
+        for (int i = 0; i < level; i++) {
+            levelTick *= wheelSize;
+        }
+        return levels.get(level).get((int) ((timeMs / levelTick) % wheelSize));
+    }
+
+    private record Timer<T>(T task, long deadlineMs) {
+    }
+}
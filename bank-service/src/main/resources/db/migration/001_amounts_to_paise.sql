@@ -0,0 +1,31 @@
+-- Money columns move from numeric(15,2) rupees to bigint paise.
+-- Each step only runs while the old column is still there, so the script is a no-op on new
+-- databases (Hibernate creates the bigint columns) and safe where Hibernate already added them.
+DO $$
+BEGIN
+    -- Snapshot balance. Adding to balance_paise rather than overwriting it keeps anything the
+    -- compactor folded into a balance_paise column Hibernate created before this migration existed.
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'bank_accounts' AND column_name = 'balance') THEN
+        ALTER TABLE bank_accounts ADD COLUMN IF NOT EXISTS balance_paise bigint NOT NULL DEFAULT 0;
+        UPDATE bank_accounts SET balance_paise = balance_paise + ROUND(balance * 100)::bigint;
+        ALTER TABLE bank_accounts DROP COLUMN balance;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'ledger_entries' AND column_name = 'amount') THEN
+        ALTER TABLE ledger_entries ADD COLUMN IF NOT EXISTS amount_paise bigint;
+        UPDATE ledger_entries SET amount_paise = ROUND(amount * 100)::bigint WHERE amount_paise IS NULL;
+        ALTER TABLE ledger_entries ALTER COLUMN amount_paise SET NOT NULL;
+        ALTER TABLE ledger_entries DROP COLUMN amount;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'idempotency_keys' AND column_name = 'amount') THEN
+        ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS amount_paise bigint;
+        UPDATE idempotency_keys SET amount_paise = COALESCE(ROUND(amount * 100)::bigint, 0)
+        WHERE amount_paise IS NULL;
+        ALTER TABLE idempotency_keys ALTER COLUMN amount_paise SET NOT NULL;
+        ALTER TABLE idempotency_keys DROP COLUMN amount;
+    END IF;
+END $$;
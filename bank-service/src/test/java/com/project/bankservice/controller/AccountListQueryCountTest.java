@@ -0,0 +1,77 @@
+package com.project.bank_service.controller;
+
+import com.project.bank_service.entity.Bank;
+import com.project.bank_service.entity.BankAccount;
+import com.project.bank_service.repository.BankAccountRepository;
+import com.project.bank_service.repository.BankRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/accounts/user/{userId} must stay a single query, balances included, however many
+ * accounts the user has. The seeded rows are rolled back after the test.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.project.bank_service.controller.StatementCounter")
+@AutoConfigureMockMvc
+@Transactional
+class AccountListQueryCountTest {
+
+    private static final int ACCOUNTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BankRepository bankRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Test
+    void listingAUsersAccountsRunsOneStatement() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String suffix = Integer.toString(random.nextInt(1_000_000, 10_000_000));
+        String ifscPrefix = "Z" + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26))
+                + (char) ('A' + random.nextInt(26));
+        String userId = "UT" + suffix;
+        Bank bank = bankRepository.saveAndFlush(Bank.builder()
+                .id("BT" + suffix)
+                .bankName("Test Bank")
+                .bankCode("T" + suffix)
+                .ifscPrefix(ifscPrefix)
+                .build());
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bankAccountRepository.save(BankAccount.builder()
+                    .id("AT" + suffix + i)
+                    .userId(userId)
+                    .bank(bank)
+                    .accountNumber(suffix + i)
+                    .ifscCode(ifscPrefix + "0000001")
+                    .accountHolderName("Test User")
+                    .accountType(BankAccount.AccountType.SAVINGS)
+                    .balancePaise(10_000L * (i + 1))
+                    .isPrimary(i == 0)
+                    .build());
+        }
+        bankAccountRepository.flush();
+
+        StatementCounter.reset();
+        mockMvc.perform(get("/api/accounts/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(ACCOUNTS));
+
+        assertEquals(1, StatementCounter.count());
+    }
+}
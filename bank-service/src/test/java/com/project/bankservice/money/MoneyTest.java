@@ -0,0 +1,56 @@
+package com.project.bank_service.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.project.bank_service.dto.request.AmountRequest;
+import com.project.bank_service.dto.response.BalanceResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MoneyModule());
+
+    @Test
+    void parsesAndFormatsExactly() {
+        assertEquals(12050, Money.parse("120.50"));
+        assertEquals(12050, Money.parse("120.5"));
+        assertEquals(-5, Money.parse("-0.05"));
+        assertEquals(100, Money.parse("1.000"));
+        assertEquals("120.50", Money.format(12050));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("0.00", Money.format(0));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1e3"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("12345678901234"));
+    }
+
+    @Test
+    void agreesWithBigDecimal() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] buffer = new char[Money.MAX_WRITTEN_LENGTH];
+        for (int i = 0; i < 10_000; i++) {
+            long paise = random.nextLong(1, 10_000_000_00L);
+            String amount = BigDecimal.valueOf(paise, 2).toPlainString();
+
+            assertEquals(paise, Money.parse(amount));
+            assertEquals(amount, Money.format(paise));
+            assertEquals(amount, new String(buffer, 0, Money.write(paise, buffer)));
+        }
+    }
+
+    @Test
+    void exchangesJsonMoneyPropertiesAsRupees() throws Exception {
+        assertEquals(12050, objectMapper.readValue("{\"amount\":120.5}", AmountRequest.class).getAmount());
+        assertEquals(705, objectMapper.readValue("{\"amount\":\"7.05\"}", AmountRequest.class).getAmount());
+        assertEquals("{\"balance\":120.50}",
+                objectMapper.writeValueAsString(BalanceResponse.builder().balance(12050).build()));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"amount\":1.005}", AmountRequest.class));
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.bank_service.service;
+
+import com.project.bank_service.repository.IdSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdGeneratorServiceTest {
+
+    @Test
+    void eachBankCodeKeepsItsOwnSeries() throws Exception {
+        // One entry per id_sequences row, bumped atomically as the row lock does
+        Map<String, Long> sequences = new ConcurrentHashMap<>();
+        IdSequenceRepository repository = mock(IdSequenceRepository.class);
+        when(repository.initSequence(anyString(), anyLong())).thenAnswer(call ->
+                sequences.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null ? 1 : 0);
+        when(repository.leaseBlock(anyString(), anyLong())).thenAnswer(call -> Optional.ofNullable(
+                sequences.computeIfPresent(call.getArgument(0), (name, last) -> last + call.<Long>getArgument(1))));
+
+        IdGeneratorService service = new IdGeneratorService(repository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "bankBlockSize", 7);
+        service.init();
+
+        String[] bankCodes = {"SBI", "HDFC"};
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String bankCode = bankCodes[t % bankCodes.length];
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        ids.add(service.generateBankId(bankCode));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(8 * 250, ids.size());
+        for (String bankCode : bankCodes) {
+            assertEquals(4 * 250, ids.stream().filter(id -> id.matches("B" + bankCode + "\\d{3,}")).count());
+            assertTrue(ids.contains("B" + bankCode + "001"));
+        }
+    }
+}
@@ -30,6 +30,7 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/users/register",
                                 "/api/users/verify-password",
+                                "/api/users/.well-known/jwks.json",
                                 "/api/users/check-phone/**",
                                 "/api/users/health",
                                 "/actuator/**"
@@ -4,7 +4,11 @@ import com.project.user_service.dto.request.ChangePasswordRequest;
 import com.project.user_service.dto.request.UserRegistrationRequest;
 import com.project.user_service.dto.request.UserUpdateRequest;
 import com.project.user_service.dto.response.ApiResponse;
+import com.project.user_service.dto.response.BulkOnboardingJobResponse;
+import com.project.user_service.dto.response.PasswordVerificationResponse;
 import com.project.user_service.dto.response.UserResponse;
+import com.project.user_service.service.AccessTokenService;
+import com.project.user_service.service.BulkUserOnboardingService;
 import com.project.user_service.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +23,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Map;
 
 @RestController
@@ -29,6 +35,8 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final BulkUserOnboardingService bulkUserOnboardingService;
+    private final AccessTokenService accessTokenService;
 
     @Operation(
             summary = "Register a new user",
@@ -61,9 +69,63 @@ public class UserController {
                 .body(ApiResponse.success(user, "User registered successfully"));
     }
 
+    @Operation(
+            summary = "Onboard users in bulk",
+            description = "Uploads an NDJSON stream with one registration request per line. The upload is processed "
+                    + "in the background; poll the returned job for progress and for the records that were skipped "
+                    + "because they are invalid or their phone or email is taken."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Upload accepted and queued",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Too many onboarding jobs queued"
+            )
+    })
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<ApiResponse<BulkOnboardingJobResponse>> onboardUsers(InputStream body) {
+        log.info("Received bulk onboarding upload");
+        BulkOnboardingJobResponse job = bulkUserOnboardingService.submit(body);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/users/bulk/" + job.getId()))
+                .body(ApiResponse.success(job, "Bulk onboarding queued"));
+    }
+
+    @Operation(
+            summary = "Get bulk onboarding job",
+            description = "Returns progress counters and the first skipped records of a bulk onboarding upload"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<ApiResponse<BulkOnboardingJobResponse>> getOnboardingJob(
+            @Parameter(description = "Onboarding job ID", example = "1")
+            @PathVariable Long jobId,
+            @Parameter(description = "Maximum number of skipped records to return (capped at 1000)")
+            @RequestParam(defaultValue = "100") int errorLimit) {
+        log.info("Fetching bulk onboarding job: {}", jobId);
+        BulkOnboardingJobResponse job = bulkUserOnboardingService.getJob(jobId, errorLimit);
+        return ResponseEntity.ok(ApiResponse.success(job, "Onboarding job fetched successfully"));
+    }
+
     @Operation(
             summary = "Get user by ID",
-            description = "Retrieves user details by their unique ID"
+            description = "Retrieves user details by their unique ID. Responses carry an ETag; "
+                    + "a request with a matching If-None-Match gets 304 Not Modified with no body"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -71,6 +133,10 @@ public class UserController {
                     description = "User found",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "User unchanged since the ETag in If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "User not found",
@@ -82,21 +148,26 @@ public class UserController {
             @Parameter(description = "User ID", example = "U100001")
             @PathVariable String userId) {
         log.info("Fetching user by ID: {}", userId);
-        UserResponse user = userService.getUserById(userId);
-        return ResponseEntity.ok(ApiResponse.success(user, "User fetched successfully"));
+        UserService.VersionedUser user = userService.getVersionedUserById(userId);
+        // Spring answers a matching If-None-Match with 304 and drops the body
+        return ResponseEntity.ok()
+                .eTag(user.etag())
+                .body(ApiResponse.success(user.user(), "User fetched successfully"));
     }
 
     @Operation(
             summary = "Get user by phone number",
-            description = "Retrieves user details by their registered phone number"
+            description = "Retrieves user details by their registered phone number. Supports ETag/If-None-Match like get by ID"
     )
     @GetMapping("/phone/{phone}")
     public ResponseEntity<ApiResponse<UserResponse>> getUserByPhone(
             @Parameter(description = "Phone number", example = "9876543210")
             @PathVariable String phone) {
         log.info("Fetching user by phone: {}", phone);
-        UserResponse user = userService.getUserByPhone(phone);
-        return ResponseEntity.ok(ApiResponse.success(user, "User fetched successfully"));
+        UserService.VersionedUser user = userService.getVersionedUserByPhone(phone);
+        return ResponseEntity.ok()
+                .eTag(user.etag())
+                .body(ApiResponse.success(user.user(), "User fetched successfully"));
     }
 
     @Operation(
@@ -129,18 +200,28 @@ public class UserController {
 
     @Operation(
             summary = "Verify password",
-            description = "Verifies if the provided password is correct for the given phone number"
+            description = "Verifies if the provided password is correct for the given phone number. "
+                    + "On success returns a short-lived access token the gateway accepts as a Bearer token"
     )
     @PostMapping("/verify-password")
-    public ResponseEntity<ApiResponse<Map<String, Boolean>>> verifyPassword(
+    public ResponseEntity<ApiResponse<PasswordVerificationResponse>> verifyPassword(
             @RequestBody Map<String, String> request) {
         String phone = request.get("phone");
         String password = request.get("password");
         log.info("Verifying password for phone: {}", phone);
-        boolean isValid = userService.verifyPassword(phone, password);
+        PasswordVerificationResponse response = userService.verifyPasswordAndIssueToken(phone, password);
         return ResponseEntity.ok(ApiResponse.success(
-                Map.of("valid", isValid),
-                isValid ? "Password verified successfully" : "Invalid password"));
+                response,
+                response.isValid() ? "Password verified successfully" : "Invalid password"));
+    }
+
+    @Operation(
+            summary = "Access token signing keys",
+            description = "JSON Web Key Set with the public key used to verify access tokens"
+    )
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok(accessTokenService.jwks());
     }
 
     @Operation(
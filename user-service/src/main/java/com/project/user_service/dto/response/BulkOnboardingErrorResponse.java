@@ -0,0 +1,21 @@
+package com.project.user_service.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Skipped Onboarding Record")
+public class BulkOnboardingErrorResponse {
+
+    @Schema(description = "Line number in the upload", example = "17")
+    private long line;
+
+    @Schema(description = "Why the record was skipped", example = "Phone already registered")
+    private String message;
+}
@@ -0,0 +1,57 @@
+package com.project.user_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.user_service.entity.BulkOnboardingJob.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Bulk Onboarding Job")
+public class BulkOnboardingJobResponse {
+
+    @Schema(description = "Job ID to poll for progress", example = "1")
+    private Long id;
+
+    @Schema(description = "Job status", example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(description = "Records read from the upload so far", example = "10000")
+    private long received;
+
+    @Schema(description = "Users created", example = "9950")
+    private long created;
+
+    @Schema(description = "Skipped because the phone or email is already registered or repeated in the upload", example = "40")
+    private long duplicates;
+
+    @Schema(description = "Skipped because the record failed validation", example = "10")
+    private long rejected;
+
+    @Schema(description = "Users created per second since processing started; up to now while the job is running", example = "1250.5")
+    private Double usersPerSecond;
+
+    @Schema(description = "Why the job stopped early, when it failed")
+    private String failureMessage;
+
+    @Schema(description = "First skipped records, by line number")
+    private List<BulkOnboardingErrorResponse> errors;
+
+    @Schema(description = "When the upload was accepted")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "When processing started")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "When processing finished")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,32 @@
+package com.project.user_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Password Verification Result")
+public class PasswordVerificationResponse {
+
+    @Schema(description = "Whether the password matched", example = "true")
+    private boolean valid;
+
+    @Schema(description = "Verified user's ID", example = "U100001")
+    private String userId;
+
+    @Schema(description = "Signed access token to send to the gateway as a Bearer token")
+    private String accessToken;
+
+    @Schema(description = "Token type", example = "Bearer")
+    private String tokenType;
+
+    @Schema(description = "Seconds until the access token expires", example = "900")
+    private Long expiresIn;
+}
@@ -0,0 +1,35 @@
+package com.project.user_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A record of a {@link BulkOnboardingJob} that was skipped, by line number in the upload.
+ */
+@Entity
+@Table(name = "bulk_onboarding_errors", indexes = {
+        @Index(name = "idx_onboarding_errors_job_line", columnList = "job_id, line_number")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOnboardingError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, updatable = false)
+    private Long jobId;
+
+    @Column(name = "line_number", nullable = false, updatable = false)
+    private long lineNumber;
+
+    @Column(name = "message", nullable = false, updatable = false, length = 500)
+    private String message;
+}
@@ -0,0 +1,66 @@
+package com.project.user_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk onboarding upload. Counters are advanced as each batch commits, so they can be polled while the job runs.
+ */
+@Entity
+@Table(name = "bulk_onboarding_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOnboardingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "received", nullable = false)
+    private long received;
+
+    @Column(name = "created", nullable = false)
+    private long created;
+
+    @Column(name = "duplicates", nullable = false)
+    private long duplicates;
+
+    @Column(name = "rejected", nullable = false)
+    private long rejected;
+
+    @Column(name = "failure_message", length = 500)
+    private String failureMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.user_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Node id claimed by one running instance for Snowflake-style ID generation.
+ */
+@Entity
+@Table(name = "id_node_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdNodeLease {
+
+    @Id
+    @Column(name = "lease_key", length = 80)
+    private String leaseKey;  // e.g., user-service:3
+
+    @Column(name = "service_name", nullable = false, length = 50)
+    private String serviceName;
+
+    @Column(name = "node_id", nullable = false)
+    private Integer nodeId;
+
+    @Column(name = "instance_id", nullable = false, length = 100)
+    private String instanceId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -25,6 +25,15 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), "USER_NOT_FOUND"));
     }
 
+    // Handle Onboarding Job Not Found
+    @ExceptionHandler(OnboardingJobNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOnboardingJobNotFoundException(OnboardingJobNotFoundException ex) {
+        log.warn("Onboarding job not found: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), "ONBOARDING_JOB_NOT_FOUND"));
+    }
+
     // Handle User Already Exists
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ApiResponse<Void>> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
@@ -43,6 +52,15 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), "INVALID_REQUEST"));
     }
 
+    // Handle Overload (password hashing pool full)
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        log.warn("Service overloaded: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage(), "SERVICE_OVERLOADED"));
+    }
+
     // Handle Validation Errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
@@ -0,0 +1,12 @@
+package com.project.user_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class OnboardingJobNotFoundException extends RuntimeException {
+
+    public OnboardingJobNotFoundException(Long jobId) {
+        super(String.format("Onboarding job not found with id: %s", jobId));
+    }
+}
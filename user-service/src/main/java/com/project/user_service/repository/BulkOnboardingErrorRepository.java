@@ -0,0 +1,16 @@
+package com.project.user_service.repository;
+
+import com.project.user_service.entity.BulkOnboardingError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BulkOnboardingErrorRepository extends JpaRepository<BulkOnboardingError, Long> {
+
+    String INSERT_ERROR_SQL = "INSERT INTO bulk_onboarding_errors (job_id, line_number, message) VALUES (?, ?, ?)";
+
+    List<BulkOnboardingError> findAllByJobIdOrderByLineNumber(Long jobId, Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.project.user_service.repository;
+
+import com.project.user_service.entity.BulkOnboardingJob;
+import com.project.user_service.entity.BulkOnboardingJob.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BulkOnboardingJobRepository extends JpaRepository<BulkOnboardingJob, Long> {
+
+    @Modifying
+    @Query("UPDATE BulkOnboardingJob j SET j.status = com.project.user_service.entity.BulkOnboardingJob.JobStatus.RUNNING, "
+            + "j.startedAt = CURRENT_TIMESTAMP WHERE j.id = :jobId")
+    int markRunning(@Param("jobId") Long jobId);
+
+    // Deltas rather than totals, so a batch's counters commit atomically with its users
+    @Modifying
+    @Query("UPDATE BulkOnboardingJob j SET j.received = j.received + :received, j.created = j.created + :created, "
+            + "j.duplicates = j.duplicates + :duplicates, j.rejected = j.rejected + :rejected WHERE j.id = :jobId")
+    int addProgress(@Param("jobId") Long jobId, @Param("received") long received, @Param("created") long created,
+                    @Param("duplicates") long duplicates, @Param("rejected") long rejected);
+
+    @Modifying
+    @Query("UPDATE BulkOnboardingJob j SET j.status = :status, j.failureMessage = :failureMessage, "
+            + "j.finishedAt = CURRENT_TIMESTAMP WHERE j.id = :jobId")
+    int markFinished(@Param("jobId") Long jobId, @Param("status") JobStatus status,
+                     @Param("failureMessage") String failureMessage);
+}
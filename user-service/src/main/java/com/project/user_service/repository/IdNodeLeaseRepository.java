@@ -0,0 +1,48 @@
+package com.project.user_service.repository;
+
+import com.project.user_service.entity.IdNodeLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface IdNodeLeaseRepository extends JpaRepository<IdNodeLease, String> {
+
+    /**
+     * Claim the lowest node id that is free or whose lease has expired.
+     * Empty when every node id is taken or a concurrent claim won the race.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO id_node_leases (lease_key, service_name, node_id, instance_id, expires_at) " +
+            "SELECT :service || ':' || n, :service, n, :instance, CURRENT_TIMESTAMP + :ttlSeconds * INTERVAL '1 second' " +
+            "FROM generate_series(0, :maxNodeId) AS n " +
+            "WHERE NOT EXISTS (SELECT 1 FROM id_node_leases l " +
+            "    WHERE l.service_name = :service AND l.node_id = n AND l.expires_at > CURRENT_TIMESTAMP) " +
+            "ORDER BY n LIMIT 1 " +
+            "ON CONFLICT (lease_key) DO UPDATE SET instance_id = EXCLUDED.instance_id, expires_at = EXCLUDED.expires_at " +
+            "WHERE id_node_leases.expires_at <= CURRENT_TIMESTAMP " +
+            "RETURNING node_id", nativeQuery = true)
+    Optional<Integer> claimNode(@Param("service") String service,
+                                @Param("instance") String instance,
+                                @Param("maxNodeId") int maxNodeId,
+                                @Param("ttlSeconds") long ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE id_node_leases SET expires_at = CURRENT_TIMESTAMP + :ttlSeconds * INTERVAL '1 second' " +
+            "WHERE lease_key = :leaseKey AND instance_id = :instance", nativeQuery = true)
+    int renew(@Param("leaseKey") String leaseKey,
+              @Param("instance") String instance,
+              @Param("ttlSeconds") long ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM id_node_leases WHERE lease_key = :leaseKey AND instance_id = :instance",
+            nativeQuery = true)
+    int release(@Param("leaseKey") String leaseKey, @Param("instance") String instance);
+}
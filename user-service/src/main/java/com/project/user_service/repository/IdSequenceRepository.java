@@ -1,24 +1,30 @@
 package com.project.user_service.repository;
 
 import com.project.user_service.entity.IdSequence;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface IdSequenceRepository extends JpaRepository<IdSequence, String> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM IdSequence s WHERE s.sequenceName = :name")
-    Optional<IdSequence> findBySequenceNameForUpdate(@Param("name") String name);
+    /**
+     * Advance the sequence by a whole block in one statement and return the new
+     * current value. The caller owns [result - blockSize, result).
+     */
+    @Transactional
+    @Query(value = "UPDATE id_sequences SET current_value = current_value + :blockSize, " +
+            "version = COALESCE(version, 0) + 1 WHERE sequence_name = :name RETURNING current_value",
+            nativeQuery = true)
+    Optional<Long> leaseBlock(@Param("name") String name, @Param("blockSize") long blockSize);
 
     @Modifying
-    @Query("UPDATE IdSequence s SET s.currentValue = s.currentValue + 1 WHERE s.sequenceName = :name")
-    void incrementSequence(@Param("name") String name);
-}
\ No newline at end of file
+    @Query(value = "INSERT INTO id_sequences (sequence_name, current_value, version) VALUES (:name, :start, 0) " +
+            "ON CONFLICT (sequence_name) DO NOTHING", nativeQuery = true)
+    int initSequence(@Param("name") String name, @Param("start") long start);
+}
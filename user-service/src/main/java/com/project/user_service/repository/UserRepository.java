@@ -6,13 +6,30 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {  // Changed from UUID to String
 
+    // Bulk onboarding insert; a unique phone or email taken since the pre-check just skips the row
+    String INSERT_USER_SQL = "INSERT INTO users (id, full_name, phone, email, password_hash, aadhaar_number, pan_number, "
+            + "device_id, kyc_verified, active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, false, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING";
+
+    // Streamed to build the registration filters
+    String ALL_PHONES_AND_EMAILS_SQL = "SELECT phone, email FROM users";
+
+    // Last-login writes; the buffered flush appends one (id, login_time) row per user between prefix and suffix
+    String UPDATE_LAST_LOGIN_SQL = "UPDATE users SET last_login_at = ? WHERE id = ?";
+    String BATCH_UPDATE_LAST_LOGIN_PREFIX = "UPDATE users u SET last_login_at = v.login_time FROM (VALUES ";
+    String BATCH_UPDATE_LAST_LOGIN_SUFFIX = ") AS v(id, login_time) "
+            + "WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.login_time)";
+
     Optional<User> findByPhoneAndActiveTrue(String phone);
 
     Optional<User> findByEmailAndActiveTrue(String email);
@@ -23,15 +40,30 @@ public interface UserRepository extends JpaRepository<User, String> {  // Change
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.phone FROM User u WHERE u.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     @Modifying
     @Query("UPDATE User u SET u.lastLoginAt = :loginTime WHERE u.id = :userId")
     void updateLastLoginTime(@Param("userId") String userId, @Param("loginTime") LocalDateTime loginTime);
 
     @Modifying
     @Query("UPDATE User u SET u.active = false, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
-    void deactivateUser(@Param("userId") String userId);
+    int deactivateUser(@Param("userId") String userId);
 
     @Modifying
     @Query("UPDATE User u SET u.kycVerified = :verified, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
-    void updateKycStatus(@Param("userId") String userId, @Param("verified") boolean verified);
+    int updateKycStatus(@Param("userId") String userId, @Param("verified") boolean verified);
+
+    // Only replaces the hash the caller checked against; 0 when it changed or the user was deactivated meanwhile
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash, u.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE u.id = :userId AND u.passwordHash = :currentHash AND u.active = true")
+    int replacePasswordHash(@Param("userId") String userId,
+                            @Param("currentHash") String currentHash,
+                            @Param("newHash") String newHash);
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.project.user_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.user_service.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues short-lived RS256 JWTs after a successful password check, so callers can present a token
+ * to the api-gateway instead of sending the password through verify-password on every request.
+ * <p>
+ * The gateway validates tokens with the public key published at {@code /api/users/.well-known/jwks.json}.
+ * All replicas must share the key pair configured under {@code user.tokens}, and startup fails without
+ * one. A single local instance may opt into a throwaway key with {@code user.tokens.allow-ephemeral-key};
+ * with more than one replica that would make each reject the others' tokens.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessTokenService {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${user.tokens.private-key:}")
+    private String privateKeyBase64;
+
+    @Value("${user.tokens.public-key:}")
+    private String publicKeyBase64;
+
+    @Value("${user.tokens.key-id:}")
+    private String keyId;
+
+    @Value("${user.tokens.issuer:user-service}")
+    private String issuer;
+
+    @Value("${user.tokens.ttl-seconds:900}")
+    private long ttlSeconds;
+
+    @Value("${user.tokens.allow-ephemeral-key:false}")
+    private boolean allowEphemeralKey;
+
+    private PrivateKey privateKey;
+    private RSAPublicKey publicKey;
+    private String encodedHeader;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException, JsonProcessingException {
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        if (!privateKeyBase64.isBlank() && !publicKeyBase64.isBlank()) {
+            privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(privateKeyBase64)));
+            publicKey = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(publicKeyBase64)));
+        } else if (!allowEphemeralKey) {
+            throw new IllegalStateException("user.tokens.private-key and user.tokens.public-key are required; "
+                    + "set user.tokens.allow-ephemeral-key only for a single local instance");
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            privateKey = keyPair.getPrivate();
+            publicKey = (RSAPublicKey) keyPair.getPublic();
+            keyId = keyId.isBlank() ? UUID.randomUUID().toString() : keyId;
+            log.warn("No user.tokens key pair configured; signing access tokens with a temporary key {}. "
+                    + "Tokens from this instance are rejected by any other replica", keyId);
+        }
+        if (keyId.isBlank()) {
+            throw new IllegalStateException("user.tokens.key-id is required when a key pair is configured");
+        }
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "RS256");
+        header.put("typ", "JWT");
+        header.put("kid", keyId);
+        encodedHeader = encode(objectMapper.writeValueAsBytes(header));
+    }
+
+    /**
+     * Signed token for the user, valid for {@code user.tokens.ttl-seconds}.
+     */
+    public IssuedToken issue(User user) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(ttlSeconds);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", issuer);
+        claims.put("sub", user.getId());
+        claims.put("phone", user.getPhone());
+        claims.put("kyc", Boolean.TRUE.equals(user.getKycVerified()));
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        claims.put("jti", UUID.randomUUID().toString());
+
+        try {
+            String signingInput = encodedHeader + '.' + encode(objectMapper.writeValueAsBytes(claims));
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return new IssuedToken(signingInput + '.' + encode(signature.sign()), ttlSeconds);
+        } catch (GeneralSecurityException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not sign access token", ex);
+        }
+    }
+
+    /**
+     * Public key as a JSON Web Key Set, for the gateway to verify signatures with.
+     */
+    public Map<String, Object> jwks() {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", keyId);
+        jwk.put("n", encode(unsigned(publicKey.getModulus())));
+        jwk.put("e", encode(unsigned(publicKey.getPublicExponent())));
+        return Map.of("keys", List.of(jwk));
+    }
+
+    private static String encode(byte[] bytes) {
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    // JWK integers are unsigned big-endian, without the sign byte BigInteger may add
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            return trimmed;
+        }
+        return bytes;
+    }
+
+    public record IssuedToken(String token, long expiresInSeconds) {
+    }
+}
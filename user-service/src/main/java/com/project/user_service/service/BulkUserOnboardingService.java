@@ -0,0 +1,400 @@
+package com.project.user_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.user_service.dto.request.UserRegistrationRequest;
+import com.project.user_service.dto.response.BulkOnboardingErrorResponse;
+import com.project.user_service.dto.response.BulkOnboardingJobResponse;
+import com.project.user_service.entity.BulkOnboardingError;
+import com.project.user_service.entity.BulkOnboardingJob;
+import com.project.user_service.entity.BulkOnboardingJob.JobStatus;
+import com.project.user_service.exception.OnboardingJobNotFoundException;
+import com.project.user_service.exception.ServiceOverloadedException;
+import com.project.user_service.repository.BulkOnboardingErrorRepository;
+import com.project.user_service.repository.BulkOnboardingJobRepository;
+import com.project.user_service.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user onboarding for partner migrations.
+ * The NDJSON upload is spooled to a temp file and read line by line on a worker thread. Each batch is
+ * checked for repeats within itself and against the database (through the registration filter), hashed on
+ * the shared password hashing pool and inserted with one JDBC batch in its own transaction, so progress is
+ * visible through the job while it runs. Memory use is bounded by the batch size, whatever the upload size;
+ * a record repeating one from an earlier batch is reported as already registered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkUserOnboardingService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final BulkOnboardingJobRepository bulkOnboardingJobRepository;
+    private final BulkOnboardingErrorRepository bulkOnboardingErrorRepository;
+    private final UserRepository userRepository;
+    private final IdGeneratorService idGeneratorService;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final RegisteredIdentityFilter registeredIdentityFilter;
+
+    @Value("${user.bulk-onboarding.workers:1}")
+    private int workers;
+
+    @Value("${user.bulk-onboarding.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${user.bulk-onboarding.batch-size:500}")
+    private int batchSize;
+
+    @Value("${user.bulk-onboarding.max-errors-per-job:1000}")
+    private int maxErrorsPerJob;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "bulk-onboarding-" + threadCount.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Spool the upload and queue it for onboarding. Returns as soon as the job is queued.
+     */
+    public BulkOnboardingJobResponse submit(InputStream upload) {
+        Path file = spool(upload);
+        BulkOnboardingJob job = bulkOnboardingJobRepository.save(BulkOnboardingJob.builder()
+                .status(JobStatus.QUEUED)
+                .build());
+        try {
+            executor.execute(() -> run(job.getId(), file));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(file);
+            finish(job.getId(), JobStatus.FAILED, "Onboarding queue was full");
+            throw new ServiceOverloadedException("Too many bulk onboarding jobs in progress; retry later");
+        }
+        log.info("Queued bulk onboarding job {}", job.getId());
+        return mapToResponse(job, List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public BulkOnboardingJobResponse getJob(Long jobId, int errorLimit) {
+        errorLimit = Math.max(1, Math.min(errorLimit, MAX_REPORTED_ERRORS));
+        BulkOnboardingJob job = bulkOnboardingJobRepository.findById(jobId)
+                .orElseThrow(() -> new OnboardingJobNotFoundException(jobId));
+        List<BulkOnboardingError> errors =
+                bulkOnboardingErrorRepository.findAllByJobIdOrderByLineNumber(jobId, PageRequest.of(0, errorLimit));
+        return mapToResponse(job, errors);
+    }
+
+    private void run(Long jobId, Path file) {
+        transactionTemplate.executeWithoutResult(status -> bulkOnboardingJobRepository.markRunning(jobId));
+        long startNanos = System.nanoTime();
+        BulkBatch batch = new BulkBatch(jobId);
+        long created = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    prepare(batch, lineNumber, line);
+                }
+                if (batch.received >= batchSize) {
+                    created += flush(batch);
+                }
+            }
+            created += flush(batch);
+            finish(jobId, JobStatus.COMPLETED, null);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            log.info("Bulk onboarding job {} completed: {} users created in {} ms ({} users/s)", jobId, created,
+                    elapsedMs, String.format("%.1f", elapsedMs == 0 ? created : created * 1000.0 / elapsedMs));
+        } catch (IOException | RuntimeException e) {
+            log.error("Bulk onboarding job {} failed", jobId, e);
+            finish(jobId, JobStatus.FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Parse and validate one record and add it to the batch, or count it as rejected or duplicate.
+     */
+    private void prepare(BulkBatch batch, long lineNumber, String line) {
+        batch.received++;
+        UserRegistrationRequest request;
+        try {
+            request = objectMapper.readValue(line, UserRegistrationRequest.class);
+        } catch (JsonProcessingException e) {
+            batch.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            return;
+        }
+
+        Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            batch.reject(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        String email = request.getEmail().toLowerCase().trim();
+        // Only this batch is tracked; earlier batches are already in the database and caught by the lookup
+        if (!batch.phones.add(request.getPhone())) {
+            batch.duplicate(lineNumber, "Phone repeated earlier in the upload");
+            return;
+        }
+        if (!batch.emails.add(email)) {
+            batch.duplicate(lineNumber, "Email repeated earlier in the upload");
+            return;
+        }
+        batch.pending.add(new PendingUser(lineNumber, request, email));
+    }
+
+    /**
+     * Drop users whose phone or email is taken, hash the rest and insert them, recording progress and
+     * skipped records in the same transaction. Returns the number of users created.
+     */
+    private long flush(BulkBatch batch) {
+        if (batch.received == 0) {
+            return 0;
+        }
+
+        List<PendingUser> fresh = dropRegistered(batch);
+        List<String> hashes = passwordHashingService.encodeAll(
+                fresh.stream().map(pending -> pending.request().getPassword()).toList());
+
+        List<Object[]> rows = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            UserRegistrationRequest request = fresh.get(i).request();
+            rows.add(new Object[]{
+                    idGeneratorService.generateUserId(),
+                    request.getFullName().trim(),
+                    request.getPhone(),
+                    fresh.get(i).email(),
+                    hashes.get(i),
+                    request.getAadhaarNumber(),
+                    request.getPanNumber() != null ? request.getPanNumber().toUpperCase() : null,
+                    request.getDeviceId()
+            });
+        }
+
+        long created = transactionTemplate.execute(status -> {
+            long inserted = 0;
+            if (!rows.isEmpty()) {
+                int[] counts = jdbcTemplate.batchUpdate(UserRepository.INSERT_USER_SQL, rows);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        inserted++;
+                    } else {
+                        // Registered by someone else between the check and the insert
+                        batch.duplicate(fresh.get(i).lineNumber(), "Phone or email already registered");
+                    }
+                }
+                // Values of rows skipped by ON CONFLICT only cost a false positive later
+                registeredIdentityFilter.add(
+                        fresh.stream().map(p -> p.request().getPhone()).toList(),
+                        fresh.stream().map(PendingUser::email).toList());
+            }
+
+            if (!batch.errors.isEmpty()) {
+                jdbcTemplate.batchUpdate(BulkOnboardingErrorRepository.INSERT_ERROR_SQL, batch.errors);
+            }
+            bulkOnboardingJobRepository.addProgress(batch.jobId, batch.received, inserted,
+                    batch.duplicates, batch.rejected);
+            return inserted;
+        });
+        batch.clear();
+        return created;
+    }
+
+    private List<PendingUser> dropRegistered(BulkBatch batch) {
+        if (batch.pending.isEmpty()) {
+            return List.of();
+        }
+        // Only values the registration filter cannot rule out need to be looked up
+        List<String> phonesToCheck = registeredIdentityFilter.mightHavePhones(batch.phones);
+        List<String> emailsToCheck = registeredIdentityFilter.mightHaveEmails(batch.emails);
+        Set<String> takenPhones = phonesToCheck.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingPhones(phonesToCheck));
+        Set<String> takenEmails = emailsToCheck.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emailsToCheck));
+
+        List<PendingUser> fresh = new ArrayList<>(batch.pending.size());
+        for (PendingUser pending : batch.pending) {
+            if (takenPhones.contains(pending.request().getPhone())) {
+                batch.duplicate(pending.lineNumber(), "Phone already registered");
+            } else if (takenEmails.contains(pending.email())) {
+                batch.duplicate(pending.lineNumber(), "Email already registered");
+            } else {
+                fresh.add(pending);
+            }
+        }
+        return fresh;
+    }
+
+    private void finish(Long jobId, JobStatus status, String failureMessage) {
+        transactionTemplate.executeWithoutResult(tx ->
+                bulkOnboardingJobRepository.markFinished(jobId, status, truncate(failureMessage)));
+    }
+
+    private static Path spool(InputStream upload) {
+        Path file = null;
+        try (InputStream in = upload) {
+            file = Files.createTempFile("bulk-onboarding-", ".upload");
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Could not read onboarding upload", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete onboarding upload {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_MESSAGE_LENGTH
+                ? message
+                : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private BulkOnboardingJobResponse mapToResponse(BulkOnboardingJob job, List<BulkOnboardingError> errors) {
+        return BulkOnboardingJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .received(job.getReceived())
+                .created(job.getCreated())
+                .duplicates(job.getDuplicates())
+                .rejected(job.getRejected())
+                .usersPerSecond(usersPerSecond(job))
+                .failureMessage(job.getFailureMessage())
+                .errors(errors.stream()
+                        .map(error -> BulkOnboardingErrorResponse.builder()
+                                .line(error.getLineNumber())
+                                .message(error.getMessage())
+                                .build())
+                        .collect(Collectors.toList()))
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private static Double usersPerSecond(BulkOnboardingJob job) {
+        if (job.getStartedAt() == null) {
+            return null;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long elapsedMs = Duration.between(job.getStartedAt(), end).toMillis();
+        if (elapsedMs <= 0) {
+            return null;
+        }
+        return Math.round(job.getCreated() * 10_000.0 / elapsedMs) / 10.0;
+    }
+
+    private record PendingUser(long lineNumber, UserRegistrationRequest request, String email) {
+    }
+
+    /**
+     * Per-job state, all of it reset after each flush except the count of recorded errors.
+     */
+    private final class BulkBatch {
+
+        private final Long jobId;
+        private final Set<String> phones = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final List<PendingUser> pending = new ArrayList<>();
+        private final List<Object[]> errors = new ArrayList<>();
+        private long errorsRecorded;
+        private long received;
+        private long duplicates;
+        private long rejected;
+
+        private BulkBatch(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        private void reject(long lineNumber, String message) {
+            rejected++;
+            record(lineNumber, message);
+        }
+
+        private void duplicate(long lineNumber, String message) {
+            duplicates++;
+            record(lineNumber, message);
+        }
+
+        private void record(long lineNumber, String message) {
+            // Past the cap skipped records are only counted
+            if (errorsRecorded++ < maxErrorsPerJob) {
+                errors.add(new Object[]{jobId, lineNumber, truncate(message)});
+            }
+        }
+
+        private void clear() {
+            phones.clear();
+            emails.clear();
+            pending.clear();
+            errors.clear();
+            received = 0;
+            duplicates = 0;
+            rejected = 0;
+        }
+    }
+}
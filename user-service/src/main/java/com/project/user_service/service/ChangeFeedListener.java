@@ -0,0 +1,125 @@
+package com.project.user_service.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * The replica's single LISTEN connection. It subscribes to {@link RegisteredIdentityFilter#CHANGE_CHANNEL}
+ * and {@link UserProfileCache#CHANGE_CHANNEL} and hands each notification to the owner of its channel.
+ * Every (re)connect rebuilds the registration filters, which is also their initial build, and drops
+ * the profile cache, since notifications may have been missed while not listening.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedListener {
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DataSource dataSource;
+    private final RegisteredIdentityFilter registeredIdentityFilter;
+    private final UserProfileCache userProfileCache;
+
+    @Value("${user.registration-filter.enabled:true}")
+    private boolean filterEnabled;
+
+    @Value("${user.registration-filter.notify-enabled:true}")
+    private boolean filterNotifyEnabled;
+
+    @Value("${user.profile-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${user.profile-cache.notify-enabled:true}")
+    private boolean cacheNotifyEnabled;
+
+    private boolean identities;
+    private boolean profiles;
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    void start() {
+        identities = filterEnabled && filterNotifyEnabled;
+        profiles = cacheEnabled && cacheNotifyEnabled;
+        if (!identities && !profiles) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "user-change-feed-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(POLL_TIMEOUT_MS * 2L);
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    if (identities) {
+                        statement.execute("LISTEN " + RegisteredIdentityFilter.CHANGE_CHANNEL);
+                    }
+                    if (profiles) {
+                        statement.execute("LISTEN " + UserProfileCache.CHANGE_CHANNEL);
+                    }
+                }
+                // Anything written while we were not listening may have been missed. The cache is
+                // dropped after the (slower) rebuild so it also covers changes made during the scan.
+                if (identities) {
+                    registeredIdentityFilter.rebuild();
+                }
+                if (profiles) {
+                    userProfileCache.invalidateAll();
+                }
+                log.info("Listening for user changes (registrations: {}, profiles: {})", identities, profiles);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification);
+                    }
+                }
+            } catch (Exception ex) {
+                if (!running) {
+                    break;
+                }
+                log.warn("User change listener lost its connection, reconnecting: {}", ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        switch (notification.getName()) {
+            case RegisteredIdentityFilter.CHANGE_CHANNEL -> registeredIdentityFilter.onNotification(notification.getParameter());
+            case UserProfileCache.CHANGE_CHANNEL -> userProfileCache.onNotification(notification.getParameter());
+            default -> log.debug("Ignoring notification on channel {}", notification.getName());
+        }
+    }
+}
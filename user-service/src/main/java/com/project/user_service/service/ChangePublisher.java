@@ -0,0 +1,158 @@
+package com.project.user_service.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sends change notifications to other replicas via Postgres NOTIFY, outside the transactions that
+ * made the changes.
+ * <p>
+ * A transaction that has issued a NOTIFY takes a cluster-wide lock while it commits, so notifying
+ * from every registration or profile write would serialize their commits. Instead, keys are queued
+ * once the writing transaction commits, and a scheduled flush sends everything queued in one short
+ * transaction of its own, merging duplicate keys. Other replicas hear about a change up to one flush
+ * interval after it committed; if this replica dies in between, their caches fall back to their
+ * TTLs and their filters to the unique constraints until the next rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangePublisher {
+
+    // Stay well under the 8000 byte NOTIFY payload limit
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<Topic, Set<String>> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private TransactionTemplate notifyTransaction;
+
+    @PostConstruct
+    void init() {
+        notifyTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue {@code keys} for {@code channel} once the current transaction commits (right away when
+     * there is none). Each payload is {@code header} followed by keys joined with {@code separator}.
+     */
+    public void publish(String channel, String header, String separator, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Topic topic = new Topic(channel, header, separator);
+        List<String> copy = List.copyOf(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(topic, copy);
+                }
+            });
+        } else {
+            enqueue(topic, copy);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.change-notify.flush-interval-ms:10}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Topic> topics = new ArrayList<>();
+            List<Set<String>> batches = new ArrayList<>();
+            for (Topic topic : pending.keySet()) {
+                // Removal is atomic with enqueue, so keys queued from here on start a new set
+                Set<String> keys = pending.remove(topic);
+                if (keys != null) {
+                    topics.add(topic);
+                    batches.add(keys);
+                }
+            }
+
+            try {
+                notifyTransaction.executeWithoutResult(status -> {
+                    for (int i = 0; i < topics.size(); i++) {
+                        send(topics.get(i), batches.get(i));
+                    }
+                });
+            } catch (RuntimeException ex) {
+                // Put back for the next flush
+                log.warn("Could not send change notifications: {}", ex.getMessage());
+                for (int i = 0; i < topics.size(); i++) {
+                    enqueue(topics.get(i), batches.get(i));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Shutting down with change notifications for {} channels unsent", pending.size());
+        }
+    }
+
+    private void enqueue(Topic topic, Collection<String> keys) {
+        pending.compute(topic, (t, queued) -> {
+            Set<String> merged = queued != null ? queued : new LinkedHashSet<>();
+            merged.addAll(keys);
+            return merged;
+        });
+    }
+
+    private void send(Topic topic, Set<String> keys) {
+        int headerBytes = topic.header().getBytes(StandardCharsets.UTF_8).length;
+        int separatorBytes = topic.separator().getBytes(StandardCharsets.UTF_8).length;
+        StringBuilder payload = new StringBuilder(topic.header());
+        int bytes = headerBytes;
+        boolean empty = true;
+        for (String key : keys) {
+            int keyBytes = key.getBytes(StandardCharsets.UTF_8).length;
+            if (!empty && bytes + separatorBytes + keyBytes > MAX_PAYLOAD_BYTES) {
+                pgNotify(topic.channel(), payload.toString());
+                payload.setLength(0);
+                payload.append(topic.header());
+                bytes = headerBytes;
+                empty = true;
+            }
+            if (!empty) {
+                payload.append(topic.separator());
+                bytes += separatorBytes;
+            }
+            payload.append(key);
+            bytes += keyBytes;
+            empty = false;
+        }
+        pgNotify(topic.channel(), payload.toString());
+    }
+
+    private void pgNotify(String channel, String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+    }
+
+    private record Topic(String channel, String header, String separator) {
+    }
+}
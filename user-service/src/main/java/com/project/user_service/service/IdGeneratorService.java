@@ -1,11 +1,20 @@
 package com.project.user_service.service;
 
-import com.project.user_service.entity.IdSequence;
 import com.project.user_service.repository.IdSequenceRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -13,44 +22,73 @@ import org.springframework.transaction.annotation.Transactional;
 public class IdGeneratorService {
 
     private final IdSequenceRepository idSequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<SnowflakeIdGenerator> snowflakeIdGenerator;
 
     private static final String USER_SEQUENCE = "USER_SEQ";
     private static final long USER_START_VALUE = 100000L;
 
+    @Value("${id-generator.block-size.user:1000}")
+    private int userBlockSize;
+
+    private final ConcurrentMap<String, AtomicReference<IdBlock>> blocks = new ConcurrentHashMap<>();
+    private TransactionTemplate leaseTransaction;
+    private SnowflakeIdGenerator snowflake;  // set when id-generator.mode=snowflake
+
+    @PostConstruct
+    void init() {
+        // Leases commit on their own so a rolled-back caller never hands its block out twice
+        leaseTransaction = new TransactionTemplate(transactionManager);
+        leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        snowflake = snowflakeIdGenerator.getIfAvailable();
+    }
+
     /**
      * Generate User ID like U100001, U100002
      */
-    @Transactional
     public String generateUserId() {
-        long nextValue = getNextSequenceValue(USER_SEQUENCE, USER_START_VALUE);
-        String userId = "U" + nextValue;
+        String userId = snowflake != null
+                ? "U" + snowflake.nextId()
+                : "U" + getNextSequenceValue(USER_SEQUENCE, USER_START_VALUE, userBlockSize);
         log.debug("Generated User ID: {}", userId);
         return userId;
     }
 
     /**
-     * Get next sequence value (thread-safe)
+     * Get next sequence value (thread-safe). Values are handed out from a block
+     * leased from id_sequences, so the row is only touched once per block.
+     * Unused values of a block are lost on restart, leaving gaps in the series.
      */
-    private long getNextSequenceValue(String sequenceName, long startValue) {
-        IdSequence sequence = idSequenceRepository.findBySequenceNameForUpdate(sequenceName)
+    private long getNextSequenceValue(String sequenceName, long startValue, int blockSize) {
+        AtomicReference<IdBlock> current = blocks.computeIfAbsent(sequenceName,
+                name -> new AtomicReference<>(IdBlock.EMPTY));
+        long value = current.get().take();
+        if (value >= 0) {
+            return value;
+        }
+        synchronized (current) {
+            while ((value = current.get().take()) < 0) {
+                long end = leaseBlock(sequenceName, startValue, blockSize);
+                current.set(new IdBlock(end - blockSize, end));
+            }
+        }
+        return value;
+    }
+
+    private long leaseBlock(String sequenceName, long startValue, int blockSize) {
+        long end = leaseTransaction.execute(status -> idSequenceRepository.leaseBlock(sequenceName, blockSize)
                 .orElseGet(() -> {
-                    // Initialize sequence if not exists
-                    IdSequence newSeq = new IdSequence();
-                    newSeq.setSequenceName(sequenceName);
-                    newSeq.setCurrentValue(startValue);
-                    return idSequenceRepository.save(newSeq);
-                });
-
-        long currentValue = sequence.getCurrentValue();
-        sequence.setCurrentValue(currentValue + 1);
-        idSequenceRepository.save(sequence);
-
-        return currentValue;
+                    idSequenceRepository.initSequence(sequenceName, startValue);
+                    return idSequenceRepository.leaseBlock(sequenceName, blockSize).orElseThrow();
+                }));
+        log.debug("Leased {} values of {} ending before {}", blockSize, sequenceName, end);
+        return end;
     }
 
     /**
      * Extract sequence number from User ID
      * Example: U100001 -> 100001
+     * Only meaningful for sequence-mode IDs; Snowflake IDs are base 36.
      */
     public Long extractUserSequence(String userId) {
         if (userId == null || !userId.startsWith("U")) {
@@ -62,4 +100,25 @@ public class IdGeneratorService {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Leased range [next, limit); exhausted once take() passes the limit.
+     */
+    private static final class IdBlock {
+
+        static final IdBlock EMPTY = new IdBlock(0, 0);
+
+        private final AtomicLong next;
+        private final long limit;
+
+        IdBlock(long from, long limit) {
+            this.next = new AtomicLong(from);
+            this.limit = limit;
+        }
+
+        long take() {
+            long value = next.getAndIncrement();
+            return value < limit ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.project.user_service.service;
+
+import com.project.user_service.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Write-behind buffer for last-login timestamps.
+ * <p>
+ * Logins only record the latest time per user in memory; a scheduled flush writes everything buffered
+ * with one batched UPDATE per chunk, and a final flush runs on shutdown. Reads on this replica merge
+ * the buffered value, so a user sees their own login straight away. A crash loses at most one flush
+ * interval of last-login times.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final UserProfileCache userProfileCache;
+
+    @Value("${user.last-login.write-behind-enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.last-login.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private final ConcurrentMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private Counter flushed;
+
+    @PostConstruct
+    void init() {
+        flushed = meterRegistry.counter("user.last_login.flushed");
+        Gauge.builder("user.last_login.pending", pending, Map::size)
+                .description("Last-login timestamps waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a login; an earlier buffered time for the same user is replaced.
+     */
+    public void record(String userId, LocalDateTime loginTime) {
+        if (!enabled) {
+            jdbcTemplate.update(UserRepository.UPDATE_LAST_LOGIN_SQL, Timestamp.valueOf(loginTime), userId);
+            userProfileCache.changed(userId);
+            return;
+        }
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * The user's last login when it is newer than {@code stored}, the value read from the database.
+     */
+    public LocalDateTime merge(String userId, LocalDateTime stored) {
+        LocalDateTime buffered = pending.get(userId);
+        return buffered != null && (stored == null || buffered.isAfter(stored)) ? buffered : stored;
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(pending.size());
+            pending.forEach((userId, loginTime) -> batch.add(Map.entry(userId, loginTime)));
+
+            for (int from = 0; from < batch.size(); from += flushBatchSize) {
+                List<Map.Entry<String, LocalDateTime>> chunk = batch.subList(from, Math.min(from + flushBatchSize, batch.size()));
+                try {
+                    write(chunk);
+                } catch (RuntimeException ex) {
+                    // Left in the buffer; the next flush retries them
+                    log.warn("Could not flush {} last-login times: {}", chunk.size(), ex.getMessage());
+                    continue;
+                }
+                // Cached profiles are dropped before the buffered values, so no read falls back to a stale profile
+                userProfileCache.changed(chunk.stream().map(Map.Entry::getKey).toList());
+                // A newer login that arrived during the write stays buffered for the next flush
+                chunk.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+                flushed.increment(chunk.size());
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("Shutting down with {} last-login times unwritten", pending.size());
+        }
+    }
+
+    private void write(List<Map.Entry<String, LocalDateTime>> chunk) {
+        StringBuilder sql = new StringBuilder(UserRepository.BATCH_UPDATE_LAST_LOGIN_PREFIX);
+        List<Object> args = new ArrayList<>(chunk.size() * 2);
+        for (Map.Entry<String, LocalDateTime> entry : chunk) {
+            sql.append(args.isEmpty() ? "" : ", ").append("(?, CAST(? AS TIMESTAMP))");
+            args.add(entry.getKey());
+            args.add(Timestamp.valueOf(entry.getValue()));
+        }
+        sql.append(UserRepository.BATCH_UPDATE_LAST_LOGIN_SUFFIX);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
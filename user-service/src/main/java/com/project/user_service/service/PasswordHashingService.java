@@ -0,0 +1,181 @@
+package com.project.user_service.service;
+
+import com.project.user_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and matching on a dedicated pool sized to the cores, so a login spike
+ * cannot take every request thread's CPU. The queue is bounded: when it is full, or a hash
+ * waits longer than the timeout, the caller gets a 503 straight away. Background batches
+ * (see {@link #encodeAll}) share the pool but never hold more than half its threads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService {
+
+    private static final long BATCH_RETRY_DELAY_MS = 10;
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${user.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${user.password-hashing.timeout-ms:2000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor pool;
+    private Semaphore batchPermits;
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Timer queueWaitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        batchPermits = new Semaphore(Math.max(1, poolSize / 2));
+
+        encodeTimer = meterRegistry.timer("user.password.hash", "operation", "encode");
+        matchTimer = meterRegistry.timer("user.password.hash", "operation", "match");
+        queueWaitTimer = meterRegistry.timer("user.password.hash.queue.wait");
+        rejected = meterRegistry.counter("user.password.hash.rejected");
+        Gauge.builder("user.password.hash.queue.depth", pool, p -> p.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("user.password.hash.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads busy")
+                .register(meterRegistry);
+        log.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return run(() -> passwordEncoder.matches(rawPassword, passwordHash), matchTimer);
+    }
+
+    /**
+     * Hash a batch for background work such as bulk onboarding. Hashes run on the shared pool, at most
+     * half its threads at a time, so logins and registrations keep the rest. Instead of being rejected
+     * with a 503, batch work waits for room in the queue, and it has no timeout.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> hashes = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                batchPermits.acquire();
+                hashes.add(submitBatchTask(rawPassword));
+            }
+            List<String> encoded = new ArrayList<>(hashes.size());
+            for (Future<String> hash : hashes) {
+                encoded.add(hash.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            // Submitted hashes are left to finish, so each still returns its permit
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private Future<String> submitBatchTask(String rawPassword) throws InterruptedException {
+        while (true) {
+            try {
+                return pool.submit(() -> {
+                    try {
+                        return encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword));
+                    } finally {
+                        batchPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (pool.isShutdown()) {
+                    batchPermits.release();
+                    throw new IllegalStateException("Password hashing pool is shut down", e);
+                }
+                // The queue is full of interactive requests; they go first
+                Thread.sleep(BATCH_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private <T> T run(Callable<T> hashing, Timer timer) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = pool.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many password checks in progress. Please retry shortly.");
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejected.increment();
+            throw new ServiceOverloadedException("Password check timed out under load. Please retry shortly.");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
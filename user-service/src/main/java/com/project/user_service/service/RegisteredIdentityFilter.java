@@ -0,0 +1,333 @@
+package com.project.user_service.service;
+
+import com.project.user_service.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Bloom filters over every registered phone and email, in front of the uniqueness checks.
+ * <p>
+ * "Not in the filter" means the phone or email is free and the query is skipped; a possible hit is
+ * confirmed with a query, and the unique constraints still have the final say on insert. Values are
+ * never removed: deactivated users keep their phone and email, and an email changed away from only
+ * costs a false positive. Registrations on other replicas arrive through a NOTIFY sent by the
+ * {@link ChangePublisher} shortly after they commit (see {@link ChangeFeedListener}); the filters are
+ * rebuilt from a streaming scan on every listener (re)connect and periodically, which also resizes
+ * them as the table grows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegisteredIdentityFilter {
+
+    public static final String CHANGE_CHANNEL = "user_identity_added";
+
+    private static final String PHONE_KEYS = "P";
+    private static final String EMAIL_KEYS = "E";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final ChangePublisher changePublisher;
+
+    // Tags our own notifications; this replica already added those values
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${user.registration-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.registration-filter.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    @Value("${user.registration-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${user.registration-filter.min-capacity:1000000}")
+    private long minCapacity;
+
+    @Value("${user.registration-filter.fetch-size:10000}")
+    private int fetchSize;
+
+    private TransactionTemplate scanTransaction;
+    private Counter phoneSkipped;
+    private Counter phoneTaken;
+    private Counter phoneFalsePositives;
+    private Counter emailSkipped;
+    private Counter emailTaken;
+    private Counter emailFalsePositives;
+
+    // Both pairs are only swapped under this lock, so an add never lands in filters that are being discarded
+    private final Object swapLock = new Object();
+    private volatile Filters filters;   // null until the first build completes
+    private Filters building;
+
+    // Rebuilds run one at a time; overlapping ones would each replace building, and values added
+    // meanwhile could miss the filter finally swapped in. A caller that waits still scans afresh.
+    private final Object rebuildLock = new Object();
+
+    @PostConstruct
+    void init() {
+        // Postgres only streams a result set with a fetch size inside a transaction
+        scanTransaction = new TransactionTemplate(transactionManager);
+        scanTransaction.setReadOnly(true);
+
+        phoneSkipped = meterRegistry.counter("user.registration.filter", "field", "phone", "result", "negative");
+        phoneTaken = meterRegistry.counter("user.registration.filter", "field", "phone", "result", "taken");
+        phoneFalsePositives = meterRegistry.counter("user.registration.filter", "field", "phone", "result", "false_positive");
+        emailSkipped = meterRegistry.counter("user.registration.filter", "field", "email", "result", "negative");
+        emailTaken = meterRegistry.counter("user.registration.filter", "field", "email", "result", "taken");
+        emailFalsePositives = meterRegistry.counter("user.registration.filter", "field", "email", "result", "false_positive");
+    }
+
+    /**
+     * Without the change feed nothing triggers the first build, so build once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        if (enabled && !notifyEnabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Whether the phone is registered; {@code lookup} is only consulted when the filter cannot rule it out.
+     */
+    public boolean isPhoneTaken(String phone, Predicate<String> lookup) {
+        Filters current = filters;
+        return check(phone, lookup, current != null ? current.phones : null, phoneSkipped, phoneTaken, phoneFalsePositives);
+    }
+
+    /**
+     * Whether the email is registered; {@code lookup} is only consulted when the filter cannot rule it out.
+     */
+    public boolean isEmailTaken(String email, Predicate<String> lookup) {
+        Filters current = filters;
+        return check(email, lookup, current != null ? current.emails : null, emailSkipped, emailTaken, emailFalsePositives);
+    }
+
+    /**
+     * Phones the filter cannot rule out; only these need a query. Everything is kept until the first build.
+     */
+    public List<String> mightHavePhones(Collection<String> phones) {
+        Filters current = filters;
+        return !enabled || current == null ? List.copyOf(phones) : phones.stream().filter(current.phones::mightContain).toList();
+    }
+
+    /**
+     * Emails the filter cannot rule out; only these need a query. Everything is kept until the first build.
+     */
+    public List<String> mightHaveEmails(Collection<String> emails) {
+        Filters current = filters;
+        return !enabled || current == null ? List.copyOf(emails) : emails.stream().filter(current.emails::mightContain).toList();
+    }
+
+    /**
+     * Record phones and emails written in the current transaction. They are added straight away, which
+     * is harmless if the transaction rolls back, and again after commit in case a rebuild started meanwhile.
+     * Other replicas hear about them shortly after the transaction commits.
+     */
+    public void add(Collection<String> phones, Collection<String> emails) {
+        if (!enabled || (phones.isEmpty() && emails.isEmpty())) {
+            return;
+        }
+        List<String> phoneList = List.copyOf(phones);
+        List<String> emailList = List.copyOf(emails);
+        if (notifyEnabled) {
+            changePublisher.publish(CHANGE_CHANNEL, instanceId + ':' + PHONE_KEYS + ':', "\n", phoneList);
+            changePublisher.publish(CHANGE_CHANNEL, instanceId + ':' + EMAIL_KEYS + ':', "\n", emailList);
+        }
+        putAll(phoneList, emailList);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAll(phoneList, emailList);
+                }
+            });
+        }
+    }
+
+    /**
+     * Handle a notification from another replica. Payload is {@code instanceId:P:phone\nphone}
+     * or {@code instanceId:E:email\nemail}.
+     */
+    public void onNotification(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (!enabled || parts.length < 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        List<String> values = List.of(parts[2].split("\n"));
+        if (PHONE_KEYS.equals(parts[1])) {
+            putAll(values, List.of());
+        } else if (EMAIL_KEYS.equals(parts[1])) {
+            putAll(List.of(), values);
+        }
+    }
+
+    /**
+     * Rebuild both filters from a full scan of users, sized for twice the current row count.
+     * Values added while the scan runs go into both the old and the new filters.
+     */
+    @Scheduled(initialDelayString = "${user.registration-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${user.registration-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            rebuildFromScan();
+        }
+    }
+
+    private void rebuildFromScan() {
+        long startNanos = System.nanoTime();
+        long expected = Math.max(minCapacity, userRepository.count() * 2);
+        Filters next = new Filters(new BloomFilter(expected, falsePositiveRate), new BloomFilter(expected, falsePositiveRate));
+        synchronized (swapLock) {
+            building = next;
+        }
+
+        AtomicLong scanned = new AtomicLong();
+        try {
+            scanTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UserRepository.ALL_PHONES_AND_EMAILS_SQL);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                next.phones.put(rs.getString(1));
+                next.emails.put(rs.getString(2));
+                scanned.incrementAndGet();
+            }));
+        } catch (RuntimeException ex) {
+            synchronized (swapLock) {
+                building = null;
+            }
+            log.warn("Registration filter rebuild failed, keeping the previous filters: {}", ex.getMessage());
+            return;
+        }
+
+        synchronized (swapLock) {
+            filters = next;
+            building = null;
+        }
+        log.info("Registration filters rebuilt for {} users in {} ms", scanned.get(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private boolean check(String value, Predicate<String> lookup, BloomFilter filter,
+                          Counter skipped, Counter confirmedTaken, Counter falsePositives) {
+        if (!enabled || filter == null) {
+            return lookup.test(value);
+        }
+        if (!filter.mightContain(value)) {
+            skipped.increment();
+            return false;
+        }
+        boolean taken = lookup.test(value);
+        (taken ? confirmedTaken : falsePositives).increment();
+        return taken;
+    }
+
+    private void putAll(List<String> phones, List<String> emails) {
+        synchronized (swapLock) {
+            for (Filters target : new Filters[]{filters, building}) {
+                if (target != null) {
+                    phones.forEach(target.phones::put);
+                    emails.forEach(target.emails::put);
+                }
+            }
+        }
+    }
+
+    private record Filters(BloomFilter phones, BloomFilter emails) {
+    }
+
+    /**
+     * Thread-safe Bloom filter on an atomic bit array, using double hashing for the probe positions.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            if (value == null) {
+                return;
+            }
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the characters, then a 64-bit finalizer to spread the bits
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb93fe53a87bbL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
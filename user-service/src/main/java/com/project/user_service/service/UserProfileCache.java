@@ -0,0 +1,209 @@
+package com.project.user_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.user_service.dto.response.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of active users' profiles, looked up by ID or by phone.
+ * <p>
+ * Entries are tagged with the row's {@code updatedAt} and with the version stamp of the user's stripe
+ * at the time they were read. Profile writes bump the stripe after they commit, so an entry read
+ * before a write is never served again. The same user IDs go to the {@link ChangePublisher}, which
+ * notifies other replicas after the commit so they bump their stripes too (see {@link ChangeFeedListener}).
+ * Phones only map to user IDs; the profile itself is always found (and validated) through the ID.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileCache {
+
+    public static final String CHANGE_CHANNEL = "user_profile_changed";
+
+    private static final int STRIPES = 4096;
+
+    private final MeterRegistry meterRegistry;
+    private final ChangePublisher changePublisher;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    // Tags our own notifications; this replica already invalidated those users after commit
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${user.profile-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.profile-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${user.profile-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${user.profile-cache.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    private Cache<String, CachedProfile> byId;
+    private Cache<String, String> idByPhone;
+
+    @PostConstruct
+    void init() {
+        byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        idByPhone = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user.profile");
+    }
+
+    /**
+     * Return the cached profile, or load it and cache it under the stamp taken before the load.
+     */
+    public Optional<CachedProfile> getById(String userId, Function<String, Optional<CachedProfile>> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+
+        long stamp = stamp(userId);
+        CachedProfile cached = byId.getIfPresent(userId);
+        if (cached != null && cached.stamp() == stamp) {
+            return Optional.of(cached);
+        }
+
+        Optional<CachedProfile> loaded = loader.apply(userId).map(profile -> profile.withStamp(stamp));
+        // If a write commits meanwhile it bumps the stamp, and this entry is simply never served
+        loaded.ifPresentOrElse(profile -> byId.put(userId, profile), () -> byId.invalidate(userId));
+        return loaded;
+    }
+
+    /**
+     * Profile by phone. A known phone is served through {@link #getById}; an unknown one is loaded
+     * with {@code loader} and only its phone-to-ID mapping is kept, since there was no ID to take a
+     * stamp for before the load.
+     */
+    public Optional<CachedProfile> getByPhone(String phone, Function<String, Optional<CachedProfile>> loader,
+                                              Function<String, Optional<CachedProfile>> idLoader) {
+        if (!enabled) {
+            return loader.apply(phone);
+        }
+
+        String userId = idByPhone.getIfPresent(phone);
+        if (userId != null) {
+            Optional<CachedProfile> profile = getById(userId, idLoader);
+            if (profile.isPresent() && phone.equals(profile.get().user().getPhone())) {
+                return profile;
+            }
+            idByPhone.invalidate(phone);
+        }
+
+        Optional<CachedProfile> loaded = loader.apply(phone);
+        loaded.ifPresent(profile -> idByPhone.put(phone, profile.user().getId()));
+        return loaded;
+    }
+
+    /**
+     * Announce that a user's profile changed in the current transaction.
+     * Other replicas are notified shortly after commit; locally the entry is invalidated after commit.
+     */
+    public void changed(String userId) {
+        changed(Set.of(userId));
+    }
+
+    public void changed(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (notifyEnabled) {
+            changePublisher.publish(CHANGE_CHANNEL, instanceId + ':', ",", userIds);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        List<String> ids = List.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(ids);
+                }
+            });
+        } else {
+            invalidate(ids);
+        }
+    }
+
+    /**
+     * Handle a change notification; ones sent by this replica were already applied after commit.
+     */
+    public void onNotification(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.startsWith(instanceId + ':')) {
+            return;
+        }
+        invalidate(List.of(payload.substring(separator + 1).split(",")));
+    }
+
+    /**
+     * Drop everything, e.g. after the change feed was interrupted and notifications may have been missed.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        byId.invalidateAll();
+        idByPhone.invalidateAll();
+    }
+
+    private void invalidate(Collection<String> userIds) {
+        for (String userId : userIds) {
+            stamps.incrementAndGet(stripe(userId));
+            byId.invalidate(userId);
+        }
+    }
+
+    private long stamp(String userId) {
+        return stamps.get(stripe(userId));
+    }
+
+    private static int stripe(String userId) {
+        return (userId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    /**
+     * A user's response as read from the database, tagged with the row's updatedAt. The response is
+     * shared between requests and must not be modified.
+     */
+    public record CachedProfile(UserResponse user, LocalDateTime updatedAt, long stamp) {
+
+        public CachedProfile(UserResponse user, LocalDateTime updatedAt) {
+            this(user, updatedAt, -1);
+        }
+
+        CachedProfile withStamp(long stamp) {
+            return new CachedProfile(user, updatedAt, stamp);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.project.user_service.service;
 import com.project.user_service.dto.request.ChangePasswordRequest;
 import com.project.user_service.dto.request.UserRegistrationRequest;
 import com.project.user_service.dto.request.UserUpdateRequest;
+import com.project.user_service.dto.response.PasswordVerificationResponse;
 import com.project.user_service.dto.response.UserResponse;
 import com.project.user_service.entity.User;
 import com.project.user_service.exception.InvalidRequestException;
@@ -11,11 +12,16 @@ import com.project.user_service.exception.UserNotFoundException;
 import com.project.user_service.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,22 +30,28 @@ import java.time.LocalDateTime;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final IdGeneratorService idGeneratorService;  // Add this
+    private final AccessTokenService accessTokenService;
+    private final RegisteredIdentityFilter registeredIdentityFilter;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final UserProfileCache userProfileCache;
 
     /**
-     * Register a new user
+     * Register a new user. The checks and the BCrypt hash run outside any transaction, so no
+     * connection is held while the hash is computed; the insert commits on its own.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponse registerUser(UserRegistrationRequest request) {
         log.info("Registering new user with phone: {}", request.getPhone());
 
-        // Check if phone exists
-        if (userRepository.existsByPhone(request.getPhone())) {
+        // Check if phone exists; the filter skips the query for phones never registered
+        if (registeredIdentityFilter.isPhoneTaken(request.getPhone(), userRepository::existsByPhone)) {
             throw new UserAlreadyExistsException("phone", request.getPhone());
         }
 
         // Check if email exists
-        if (userRepository.existsByEmail(request.getEmail().toLowerCase())) {
+        if (registeredIdentityFilter.isEmailTaken(request.getEmail().toLowerCase(), userRepository::existsByEmail)) {
             throw new UserAlreadyExistsException("email", request.getEmail());
         }
 
@@ -52,7 +64,7 @@ public class UserService {
                 .fullName(request.getFullName().trim())
                 .phone(request.getPhone())
                 .email(request.getEmail().toLowerCase().trim())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingService.encode(request.getPassword()))
                 .aadhaarNumber(request.getAadhaarNumber())
                 .panNumber(request.getPanNumber() != null ? request.getPanNumber().toUpperCase() : null)
                 .deviceId(request.getDeviceId())
@@ -60,7 +72,13 @@ public class UserService {
                 .active(true)
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            // Registered concurrently between the check and the insert
+            throw new UserAlreadyExistsException("Phone or email is already registered");
+        }
+        registeredIdentityFilter.add(List.of(user.getPhone()), List.of(user.getEmail()));
         log.info("User registered successfully with ID: {}", user.getId());
 
         return mapToUserResponse(user);
@@ -69,27 +87,41 @@ public class UserService {
     /**
      * Get user by ID
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserResponse getUserById(String userId) {  // Changed from UUID to String
+        return getVersionedUserById(userId).user();
+    }
+
+    /**
+     * Get user by ID with its ETag. Served from the profile cache when possible.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public VersionedUser getVersionedUserById(String userId) {
         log.info("Fetching user with ID: {}", userId);
 
-        User user = userRepository.findByIdAndActiveTrue(userId)
+        return userProfileCache.getById(userId, this::loadProfileById)
+                .map(this::toVersionedUser)
                 .orElseThrow(() -> new UserNotFoundException("id", userId));
-
-        return mapToUserResponse(user);
     }
 
     /**
      * Get user by phone number
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserResponse getUserByPhone(String phone) {
+        return getVersionedUserByPhone(phone).user();
+    }
+
+    /**
+     * Get user by phone number with its ETag. Served from the profile cache when possible.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public VersionedUser getVersionedUserByPhone(String phone) {
         log.info("Fetching user with phone: {}", phone);
 
-        User user = userRepository.findByPhoneAndActiveTrue(phone)
+        return userProfileCache.getByPhone(phone, this::loadProfileByPhone, this::loadProfileById)
+                .map(this::toVersionedUser)
                 .orElseThrow(() -> new UserNotFoundException("phone", phone));
-
-        return mapToUserResponse(user);
     }
 
     /**
@@ -107,8 +139,11 @@ public class UserService {
 
         if (request.getEmail() != null && !request.getEmail().isBlank()) {
             String newEmail = request.getEmail().toLowerCase().trim();
-            if (!newEmail.equals(user.getEmail()) && userRepository.existsByEmail(newEmail)) {
-                throw new UserAlreadyExistsException("email", newEmail);
+            if (!newEmail.equals(user.getEmail())) {
+                if (registeredIdentityFilter.isEmailTaken(newEmail, userRepository::existsByEmail)) {
+                    throw new UserAlreadyExistsException("email", newEmail);
+                }
+                registeredIdentityFilter.add(List.of(), List.of(newEmail));
             }
             user.setEmail(newEmail);
         }
@@ -126,14 +161,17 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+        userProfileCache.changed(userId);
         log.info("User updated successfully: {}", userId);
 
         return mapToUserResponse(user);
     }
 
     /**
-     * Change user password
+     * Change user password. Like registration, the hashing runs outside any transaction and the
+     * new hash is written by a single conditional update.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void changePassword(String userId, ChangePasswordRequest request) {  // Changed from UUID to String
         log.info("Changing password for user: {}", userId);
 
@@ -144,36 +182,52 @@ public class UserService {
         User user = userRepository.findByIdAndActiveTrue(userId)
                 .orElseThrow(() -> new UserNotFoundException("id", userId));
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getCurrentPassword(), user.getPasswordHash())) {
             throw new InvalidRequestException("Current password is incorrect");
         }
 
-        if (passwordEncoder.matches(request.getNewPassword(), user.getPasswordHash())) {
+        if (passwordHashingService.matches(request.getNewPassword(), user.getPasswordHash())) {
             throw new InvalidRequestException("New password must be different from current password");
         }
 
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        String newHash = passwordHashingService.encode(request.getNewPassword());
+        if (userRepository.replacePasswordHash(userId, user.getPasswordHash(), newHash) == 0) {
+            // Changed or deactivated concurrently; the current password no longer applies
+            throw new InvalidRequestException("Current password is incorrect");
+        }
+        userProfileCache.changed(userId);
 
         log.info("Password changed successfully for user: {}", userId);
     }
 
     /**
-     * Verify user password
+     * Verify user password and, when it matches, issue a short-lived access token for the gateway.
+     * Runs without a transaction so no connection is held while the hash is checked.
      */
-    @Transactional(readOnly = true)
-    public boolean verifyPassword(String phone, String password) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PasswordVerificationResponse verifyPasswordAndIssueToken(String phone, String password) {
         User user = userRepository.findByPhoneAndActiveTrue(phone)
                 .orElseThrow(() -> new UserNotFoundException("phone", phone));
 
-        return passwordEncoder.matches(password, user.getPasswordHash());
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
+            return PasswordVerificationResponse.builder().valid(false).build();
+        }
+        AccessTokenService.IssuedToken token = accessTokenService.issue(user);
+        return PasswordVerificationResponse.builder()
+                .valid(true)
+                .userId(user.getId())
+                .accessToken(token.token())
+                .tokenType("Bearer")
+                .expiresIn(token.expiresInSeconds())
+                .build();
     }
 
     /**
-     * Update last login time
+     * Update last login time. Buffered and written in batches, so no transaction is needed here.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateLastLogin(String userId) {  // Changed from UUID to String
-        userRepository.updateLastLoginTime(userId, LocalDateTime.now());
+        lastLoginBuffer.record(userId, LocalDateTime.now());
         log.info("Updated last login time for user: {}", userId);
     }
 
@@ -183,11 +237,11 @@ public class UserService {
     public void deactivateUser(String userId) {  // Changed from UUID to String
         log.info("Deactivating user: {}", userId);
 
-        if (!userRepository.existsById(userId)) {
+        // Zero rows updated means there is no such user
+        if (userRepository.deactivateUser(userId) == 0) {
             throw new UserNotFoundException("id", userId);
         }
-
-        userRepository.deactivateUser(userId);
+        userProfileCache.changed(userId);
         log.info("User deactivated successfully: {}", userId);
     }
 
@@ -197,11 +251,10 @@ public class UserService {
     public void updateKycStatus(String userId, boolean verified) {  // Changed from UUID to String
         log.info("Updating KYC status for user {}: {}", userId, verified);
 
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.updateKycStatus(userId, verified) == 0) {
             throw new UserNotFoundException("id", userId);
         }
-
-        userRepository.updateKycStatus(userId, verified);
+        userProfileCache.changed(userId);
         log.info("KYC status updated for user: {}", userId);
     }
 
@@ -210,7 +263,43 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByPhone(String phone) {
-        return userRepository.existsByPhone(phone);
+        return registeredIdentityFilter.isPhoneTaken(phone, userRepository::existsByPhone);
+    }
+
+    private Optional<UserProfileCache.CachedProfile> loadProfileById(String userId) {
+        return userRepository.findByIdAndActiveTrue(userId)
+                .map(user -> new UserProfileCache.CachedProfile(mapToUserResponse(user), user.getUpdatedAt()));
+    }
+
+    private Optional<UserProfileCache.CachedProfile> loadProfileByPhone(String phone) {
+        return userRepository.findByPhoneAndActiveTrue(phone)
+                .map(user -> new UserProfileCache.CachedProfile(mapToUserResponse(user), user.getUpdatedAt()));
+    }
+
+    /**
+     * Merge a buffered login into the cached response and tag it with an ETag built from the
+     * stored updatedAt and last login, so every replica agrees on it. The ETag is weak because
+     * the body may also carry a login this replica has buffered but not flushed yet.
+     */
+    private VersionedUser toVersionedUser(UserProfileCache.CachedProfile profile) {
+        UserResponse user = profile.user();
+        String etag = "W/\"" + user.getId() + '-' + version(profile.updatedAt()) + '-' + version(user.getLastLoginAt()) + "\"";
+        LocalDateTime lastLoginAt = lastLoginBuffer.merge(user.getId(), user.getLastLoginAt());
+        if (!Objects.equals(lastLoginAt, user.getLastLoginAt())) {
+            // Cached responses are shared, so copy rather than modify
+            user = user.toBuilder().lastLoginAt(lastLoginAt).build();
+        }
+        return new VersionedUser(user, etag);
+    }
+
+    private static String version(LocalDateTime time) {
+        return time == null ? "0" : Long.toHexString(time.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    /**
+     * A user response and its ETag.
+     */
+    public record VersionedUser(UserResponse user, String etag) {
     }
 
     // Helper method
@@ -225,7 +314,7 @@ public class UserService {
                 .kycVerified(user.getKycVerified())
                 .active(user.getActive())
                 .createdAt(user.getCreatedAt())
-                .lastLoginAt(user.getLastLoginAt())
+                .lastLoginAt(lastLoginBuffer.merge(user.getId(), user.getLastLoginAt()))
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.project.user_service.service;
+
+import com.project.user_service.repository.IdSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdGeneratorServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void concurrentUserIdsNeverRepeat() throws Exception {
+        // id_sequences rows; computeIfPresent is atomic per row, like the UPDATE ... RETURNING it stands in for
+        Map<String, Long> sequences = new ConcurrentHashMap<>();
+        IdSequenceRepository repository = mock(IdSequenceRepository.class);
+        when(repository.initSequence(anyString(), anyLong())).thenAnswer(call ->
+                sequences.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null ? 1 : 0);
+        when(repository.leaseBlock(anyString(), anyLong())).thenAnswer(call -> Optional.ofNullable(
+                sequences.computeIfPresent(call.getArgument(0), (name, last) -> last + call.<Long>getArgument(1))));
+
+        IdGeneratorService service = new IdGeneratorService(repository,
+                mock(PlatformTransactionManager.class), mock(ObjectProvider.class));
+        // A small block keeps the threads racing for new leases
+        ReflectionTestUtils.setField(service, "userBlockSize", 7);
+        service.init();
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        ids.add(service.generateUserId());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(8 * 500, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.matches("U\\d{6,}")));
+    }
+}
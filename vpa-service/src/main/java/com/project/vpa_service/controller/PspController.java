@@ -3,6 +3,7 @@ package com.project.vpa_service.controller;
 import com.project.vpa_service.dto.request.CreatePspRequest;
 import com.project.vpa_service.dto.response.ApiResponse;
 import com.project.vpa_service.dto.response.PspResponse;
+import com.project.vpa_service.dto.response.RawJson;
 import com.project.vpa_service.service.PspService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,8 +15,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/psps")
 @RequiredArgsConstructor
@@ -67,12 +66,13 @@ public class PspController {
 
     @Operation(
             summary = "Get all PSPs",
-            description = "Retrieves a list of all active Payment Service Providers"
+            description = "Retrieves a list of all active Payment Service Providers. "
+                    + "The list is served as serialized when the PSP directory was last loaded."
     )
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PspResponse>>> getAllPsps() {
+    public ResponseEntity<ApiResponse<RawJson>> getAllPsps() {
         log.info("Fetching all PSPs");
-        List<PspResponse> psps = pspService.getAllPsps();
+        RawJson psps = pspService.getAllPspsJson();
         return ResponseEntity.ok(ApiResponse.success(psps, "PSPs fetched successfully"));
     }
 }
\ No newline at end of file
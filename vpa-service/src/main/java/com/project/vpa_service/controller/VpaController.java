@@ -1,15 +1,23 @@
 package com.project.vpa_service.controller;
 
+import com.project.vpa_service.dto.request.BatchCreateVpaRequest;
+import com.project.vpa_service.dto.request.BatchVerifyVpaRequest;
 import com.project.vpa_service.dto.request.CreateVpaRequest;
 import com.project.vpa_service.dto.request.VerifyVpaRequest;
 import com.project.vpa_service.dto.response.ApiResponse;
+import com.project.vpa_service.dto.response.BatchCreateVpaResponse;
+import com.project.vpa_service.dto.response.HandleSuggestionResponse;
 import com.project.vpa_service.dto.response.VpaResponse;
 import com.project.vpa_service.dto.response.VpaVerificationResponse;
+import com.project.vpa_service.service.HandleSuggestionService;
 import com.project.vpa_service.service.VpaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -27,6 +35,7 @@ import java.util.Map;
 public class VpaController {
 
     private final VpaService vpaService;
+    private final HandleSuggestionService handleSuggestionService;
 
     @Operation(
             summary = "Health check",
@@ -53,6 +62,19 @@ public class VpaController {
                 .body(ApiResponse.success(vpa, "VPA created successfully"));
     }
 
+    @Operation(
+            summary = "Create VPAs in batch",
+            description = "Creates many VPAs on one PSP, e.g. when moving existing customers onto a new handle. "
+                    + "Returns the outcome of each entry in request order; taken addresses are reported as collided."
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchCreateVpaResponse>> createVpas(
+            @Valid @RequestBody BatchCreateVpaRequest request) {
+        log.info("Creating batch of {} VPAs on PSP: {}", request.getEntries().size(), request.getPspId());
+        BatchCreateVpaResponse result = vpaService.createVpas(request);
+        return ResponseEntity.ok(ApiResponse.success(result, "Batch VPA creation processed"));
+    }
+
     @Operation(
             summary = "Verify VPA",
             description = "Checks if a VPA exists and is active. Returns masked account holder name."
@@ -66,6 +88,19 @@ public class VpaController {
         return ResponseEntity.ok(ApiResponse.success(result, message));
     }
 
+    @Operation(
+            summary = "Verify VPAs in batch",
+            description = "Verifies up to 1000 VPAs in one call, e.g. the payees of a bulk payout. "
+                    + "Returns one verification result per address, in request order."
+    )
+    @PostMapping("/verify/batch")
+    public ResponseEntity<ApiResponse<List<VpaVerificationResponse>>> verifyVpas(
+            @Valid @RequestBody BatchVerifyVpaRequest request) {
+        log.info("Verifying batch of {} VPAs", request.getVpaAddresses().size());
+        List<VpaVerificationResponse> results = vpaService.verifyVpas(request.getVpaAddresses());
+        return ResponseEntity.ok(ApiResponse.success(results, "Batch VPA verification processed"));
+    }
+
     @Operation(
             summary = "Check VPA availability",
             description = "Checks if a VPA address is available for registration"
@@ -81,6 +116,28 @@ public class VpaController {
                 available ? "VPA is available" : "VPA is already taken"));
     }
 
+    @Operation(
+            summary = "Suggest free handles",
+            description = "Suggests free variants of a handle on a PSP (e.g. rahul1, rahul.1, rahul_1), "
+                    + "answered from memory without a database query"
+    )
+    @GetMapping("/suggestions")
+    public ResponseEntity<ApiResponse<HandleSuggestionResponse>> suggestHandles(
+            @Parameter(description = "PSP ID", example = "PSP001")
+            @RequestParam String pspId,
+            @Parameter(description = "Requested handle", example = "rahul")
+            @RequestParam
+            @NotBlank(message = "VPA handle is required")
+            @Size(min = 3, max = 50, message = "VPA handle must be between 3 and 50 characters")
+            @Pattern(regexp = "^[a-zA-Z0-9._]+$", message = "VPA handle can only contain letters, numbers, dots, and underscores")
+            String handle,
+            @Parameter(description = "Number of suggestions (at most 20)", example = "5")
+            @RequestParam(defaultValue = "5") int count) {
+        log.info("Suggesting handles for {} on PSP: {}", handle, pspId);
+        HandleSuggestionResponse result = handleSuggestionService.suggest(pspId, handle, count);
+        return ResponseEntity.ok(ApiResponse.success(result, "Handle suggestions generated"));
+    }
+
     @Operation(
             summary = "Get VPA by address",
             description = "Retrieves VPA details by its address"
@@ -0,0 +1,48 @@
+package com.project.vpa_service.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateVpaRequest {
+
+    @NotBlank(message = "PSP ID is required")
+    private String pspId;  // e.g., PSP001; shared by every entry
+
+    @NotEmpty(message = "At least one VPA entry is required")
+    @Size(max = 5000, message = "A batch can contain at most 5000 entries")
+    private List<@Valid Entry> entries;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+
+        @NotBlank(message = "User ID is required")
+        private String userId;  // e.g., U100001
+
+        @NotBlank(message = "VPA handle is required")
+        @Size(min = 3, max = 50, message = "VPA handle must be between 3 and 50 characters")
+        @Pattern(regexp = "^[a-zA-Z0-9._]+$", message = "VPA handle can only contain letters, numbers, dots, and underscores")
+        private String vpaHandle;
+
+        @NotBlank(message = "Linked account ID is required")
+        private String linkedAccountId;  // e.g., A100001SBISAV
+
+        @Builder.Default
+        private Boolean isPrimary = false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.vpa_service.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchVerifyVpaRequest {
+
+    @NotEmpty(message = "At least one VPA address is required")
+    @Size(max = 1000, message = "A batch can contain at most 1000 addresses")
+    private List<@NotBlank(message = "VPA address is required")
+    @Pattern(regexp = "^[a-zA-Z0-9._]+@[a-z0-9]+$", message = "Invalid VPA format. Use format: handle@psp") String> vpaAddresses;
+}
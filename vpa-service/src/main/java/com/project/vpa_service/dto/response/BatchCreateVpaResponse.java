@@ -0,0 +1,21 @@
+package com.project.vpa_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateVpaResponse {
+
+    private String pspId;
+    private int total;
+    private int created;
+    private int collided;
+    private List<VpaCreationResult> results;  // Same order as the request entries
+}
@@ -0,0 +1,22 @@
+package com.project.vpa_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HandleSuggestionResponse {
+
+    private String pspId;
+    private String pspHandle;  // e.g., "okaxis"
+    private String requestedHandle;
+    private boolean requestedAvailable;
+    private boolean complete;  // False while the taken handles are still being loaded at startup
+    private List<String> suggestions;  // Free handles, most preferred first
+}
@@ -0,0 +1,27 @@
+package com.project.vpa_service.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * JSON that was serialized ahead of time, written into a response as-is.
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+public record RawJson(String json) {
+
+    static class Serializer extends StdSerializer<RawJson> {
+
+        Serializer() {
+            super(RawJson.class);
+        }
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.json());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.vpa_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VpaCreationResult {
+
+    private int index;  // Position of the entry in the request
+    private String vpaAddress;
+    private String vpaId;  // Set when created
+    private CreationStatus status;
+
+    public enum CreationStatus {
+        CREATED,
+        COLLIDED
+    }
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "vpas", indexes = {
         @Index(name = "idx_vpas_user_id", columnList = "user_id"),
-        @Index(name = "idx_vpas_vpa_address", columnList = "vpa_address", unique = true)
+        @Index(name = "idx_vpas_vpa_address", columnList = "vpa_address", unique = true),
+        @Index(name = "idx_vpas_updated_at", columnList = "updated_at")
 })
 @Data
 @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.project.vpa_service.repository;
 
 import com.project.vpa_service.entity.Psp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +18,8 @@ public interface PspRepository extends JpaRepository<Psp, String> {
     List<Psp> findAllByActiveTrue();
 
     boolean existsByPspHandle(String pspHandle);
+
+    // Changes whenever a PSP is added or updated; compared against the PspDirectory snapshot
+    @Query(value = "SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(updated_at) AS TEXT), '') FROM psps", nativeQuery = true)
+    String findDirectoryVersion();
 }
\ No newline at end of file
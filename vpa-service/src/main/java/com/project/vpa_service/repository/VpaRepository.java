@@ -1,5 +1,6 @@
 package com.project.vpa_service.repository;
 
+import com.project.vpa_service.dto.response.VpaResponse;
 import com.project.vpa_service.entity.Vpa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -7,12 +8,41 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VpaRepository extends JpaRepository<Vpa, String> {
 
+    // Batch insert; an address taken since the collision check just skips the row
+    String INSERT_VPA_SQL = "INSERT INTO vpas (id, user_id, vpa_handle, psp_id, vpa_address, linked_account_id, "
+            + "is_primary, is_verified, active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, false, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (vpa_address) DO NOTHING";
+
+    // Every address ever issued, inactive VPAs included; streamed to rebuild VpaAddressFilter
+    String ALL_ADDRESSES_SQL = "SELECT vpa_address FROM vpas";
+
+    // Columns the in-memory index keeps per VPA (see VpaIndex)
+    String INDEX_SELECT_SQL = "SELECT v.id, v.user_id, v.vpa_handle, v.vpa_address, v.linked_account_id, "
+            + "v.is_primary, v.is_verified, v.active, v.created_at, p.id AS psp_id, p.psp_name, p.psp_handle "
+            + "FROM vpas v JOIN psps p ON p.id = v.psp_id ";
+
+    // Keyset page of active VPAs for the initial index load
+    String INDEX_PAGE_SQL = INDEX_SELECT_SQL + "WHERE v.active = true AND v.id > ? ORDER BY v.id LIMIT ?";
+
+    // Current state of changed VPAs, inactive ones included so they can be dropped
+    String INDEX_BY_IDS_SQL = INDEX_SELECT_SQL + "WHERE v.id IN (:ids)";
+    String INDEX_BY_USERS_SQL = INDEX_SELECT_SQL + "WHERE v.user_id IN (:userIds)";
+    String INDEX_BY_ADDRESS_SQL = INDEX_SELECT_SQL + "WHERE v.vpa_address = ? AND v.active = true";
+    String INDEX_BY_ADDRESSES_SQL = INDEX_SELECT_SQL + "WHERE v.vpa_address IN (:addresses) AND v.active = true";
+
+    // VPAs written since a point in time, for the index's periodic reconcile
+    String INDEX_CHANGED_SINCE_SQL = INDEX_SELECT_SQL + "WHERE v.updated_at > ?";
+
+    String DATABASE_TIME_SQL = "SELECT LOCALTIMESTAMP";
+
     // Find by ID (active only)
     Optional<Vpa> findByIdAndActiveTrue(String id);
 
@@ -22,6 +52,12 @@ public interface VpaRepository extends JpaRepository<Vpa, String> {
     // Find all VPAs for a user
     List<Vpa> findAllByUserIdAndActiveTrue(String userId);
 
+    // A user's active VPAs with their PSP, mapped to responses in one join query
+    @Query("SELECT new com.project.vpa_service.dto.response.VpaResponse(v.id, v.userId, v.vpaHandle, v.vpaAddress, "
+            + "p.id, p.pspName, p.pspHandle, v.linkedAccountId, v.isPrimary, v.isVerified, v.active, v.createdAt) "
+            + "FROM Vpa v JOIN v.psp p WHERE v.userId = :userId AND v.active = true")
+    List<VpaResponse> findResponsesByUserId(@Param("userId") String userId);
+
     // Find primary VPA for user
     Optional<Vpa> findByUserIdAndIsPrimaryTrueAndActiveTrue(String userId);
 
@@ -31,6 +67,14 @@ public interface VpaRepository extends JpaRepository<Vpa, String> {
     // Check if user has VPA with same handle and PSP
     boolean existsByUserIdAndVpaHandleAndPspId(String userId, String vpaHandle, String pspId);
 
+    // Addresses of a batch that are already taken
+    @Query("SELECT v.vpaAddress FROM Vpa v WHERE v.vpaAddress IN :addresses")
+    List<String> findExistingAddresses(@Param("addresses") Collection<String> addresses);
+
+    // Users of a batch that already have an active VPA
+    @Query("SELECT DISTINCT v.userId FROM Vpa v WHERE v.userId IN :userIds AND v.active = true")
+    List<String> findUserIdsWithActiveVpas(@Param("userIds") Collection<String> userIds);
+
     // Count VPAs for user
     long countByUserIdAndActiveTrue(String userId);
 
@@ -39,6 +83,13 @@ public interface VpaRepository extends JpaRepository<Vpa, String> {
     @Query("UPDATE Vpa v SET v.isPrimary = false, v.updatedAt = CURRENT_TIMESTAMP WHERE v.userId = :userId AND v.isPrimary = true")
     void clearPrimaryVpa(@Param("userId") String userId);
 
+    // Clear the previous primary of several users, keeping the ones just created
+    @Modifying
+    @Query("UPDATE Vpa v SET v.isPrimary = false, v.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE v.userId IN :userIds AND v.isPrimary = true AND v.id NOT IN :keepVpaIds")
+    int clearPrimaryVpasExcept(@Param("userIds") Collection<String> userIds,
+                               @Param("keepVpaIds") Collection<String> keepVpaIds);
+
     // Set VPA as primary
     @Modifying
     @Query("UPDATE Vpa v SET v.isPrimary = true, v.updatedAt = CURRENT_TIMESTAMP WHERE v.id = :vpaId")
@@ -47,15 +98,15 @@ public interface VpaRepository extends JpaRepository<Vpa, String> {
     // Verify VPA
     @Modifying
     @Query("UPDATE Vpa v SET v.isVerified = true, v.updatedAt = CURRENT_TIMESTAMP WHERE v.id = :vpaId")
-    void verifyVpa(@Param("vpaId") String vpaId);
+    int verifyVpa(@Param("vpaId") String vpaId);
 
     // Deactivate VPA
     @Modifying
     @Query("UPDATE Vpa v SET v.active = false, v.updatedAt = CURRENT_TIMESTAMP WHERE v.id = :vpaId")
-    void deactivateVpa(@Param("vpaId") String vpaId);
+    int deactivateVpa(@Param("vpaId") String vpaId);
 
     // Update linked account
     @Modifying
     @Query("UPDATE Vpa v SET v.linkedAccountId = :accountId, v.updatedAt = CURRENT_TIMESTAMP WHERE v.id = :vpaId")
-    void updateLinkedAccount(@Param("vpaId") String vpaId, @Param("accountId") String accountId);
+    int updateLinkedAccount(@Param("vpaId") String vpaId, @Param("accountId") String accountId);
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.project.vpa_service.service;
+
+import com.project.vpa_service.dto.response.HandleSuggestionResponse;
+import com.project.vpa_service.entity.Psp;
+import com.project.vpa_service.exception.PspNotFoundException;
+import com.project.vpa_service.repository.VpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Suggests free handles on a PSP from an in-memory radix trie of the handles already taken there.
+ * <p>
+ * The tries are filled from a streaming scan at startup and extended as VPAs are created, here or
+ * (through the VPA index) on other replicas. Deactivated VPAs keep their address, so nothing is ever
+ * removed. Suggestions are hints: creation still checks the database, and until the first load
+ * completes a suggestion may already be taken.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HandleSuggestionService {
+
+    // Same bounds as CreateVpaRequest.vpaHandle, so every suggestion can be created
+    private static final int MIN_HANDLE_LENGTH = 3;
+    private static final int MAX_HANDLE_LENGTH = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PspDirectory pspDirectory;
+
+    @Value("${vpa.handle-suggestions.max-count:20}")
+    private int maxCount;
+
+    @Value("${vpa.handle-suggestions.max-candidates:10000}")
+    private int maxCandidates;
+
+    @Value("${vpa.handle-suggestions.fetch-size:10000}")
+    private int fetchSize;
+
+    // Keyed by PSP handle, the part of the address after '@'
+    private final ConcurrentMap<String, RadixTrie> tries = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        tryLoad();
+    }
+
+    /**
+     * Retry a load that failed, e.g. on a transient database error at startup. Until one
+     * succeeds, suggestions are served from whatever was added and marked incomplete.
+     */
+    @Scheduled(initialDelayString = "${vpa.handle-suggestions.load-retry-ms:30000}",
+            fixedDelayString = "${vpa.handle-suggestions.load-retry-ms:30000}")
+    void retryLoad() {
+        if (!loaded) {
+            tryLoad();
+        }
+    }
+
+    private void tryLoad() {
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            log.error("Could not load handle tries, retrying later: {}", ex.getMessage());
+        }
+    }
+
+    // Re-adding handles a failed attempt already added is harmless
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        TransactionTemplate scanTransaction = new TransactionTemplate(transactionManager);
+        scanTransaction.setReadOnly(true);
+        long[] count = new long[1];
+        scanTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(VpaRepository.ALL_ADDRESSES_SQL);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            add(rs.getString(1));
+            count[0]++;
+        }));
+        loaded = true;
+        log.info("Handle tries loaded {} handles across {} PSPs in {} ms", count[0], tries.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Record newly issued addresses (handle@pspHandle).
+     */
+    public void addAll(Collection<String> vpaAddresses) {
+        vpaAddresses.forEach(this::add);
+    }
+
+    /**
+     * Up to {@code count} free handles close to the requested one, in order of preference.
+     * Answered from memory only.
+     */
+    public HandleSuggestionResponse suggest(String pspId, String handle, int count) {
+        Psp psp = pspDirectory.findById(pspId)
+                .orElseThrow(() -> new PspNotFoundException("id", pspId));
+        String requested = handle.toLowerCase().trim();
+        int limit = Math.max(1, Math.min(count, maxCount));
+        RadixTrie trie = tries.get(psp.getPspHandle());
+
+        boolean requestedFree = trie == null || !trie.contains(requested);
+        List<String> suggestions = new ArrayList<>(limit);
+        if (trie == null) {
+            candidates(requested, limit, suggestions::add, candidate -> true);
+        } else {
+            trie.read(() -> candidates(requested, limit, suggestions::add, candidate -> !trie.containsUnlocked(candidate)));
+        }
+
+        return HandleSuggestionResponse.builder()
+                .pspId(psp.getId())
+                .pspHandle(psp.getPspHandle())
+                .requestedHandle(requested)
+                .requestedAvailable(requestedFree)
+                .complete(loaded)
+                .suggestions(suggestions)
+                .build();
+    }
+
+    /**
+     * Walk variants in preference order (handle1, handle.1, handle_1, handle2, ...) and keep the free ones.
+     */
+    private void candidates(String handle, int count, Consumer<String> sink, Predicate<String> free) {
+        String[] separators = {"", ".", "_"};
+        int found = 0;
+        int tried = 0;
+        for (int n = 1; found < count && tried < maxCandidates; n++) {
+            String suffix = Integer.toString(n);
+            if (handle.length() + 1 + suffix.length() > MAX_HANDLE_LENGTH) {
+                break;
+            }
+            for (String separator : separators) {
+                String candidate = handle + separator + suffix;
+                tried++;
+                if (candidate.length() >= MIN_HANDLE_LENGTH && free.test(candidate)) {
+                    sink.accept(candidate);
+                    if (++found == count) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(String vpaAddress) {
+        int at = vpaAddress.lastIndexOf('@');
+        if (at <= 0) {
+            return;
+        }
+        tries.computeIfAbsent(vpaAddress.substring(at + 1), pspHandle -> new RadixTrie())
+                .add(vpaAddress.substring(0, at));
+    }
+
+    /**
+     * Radix trie of handles: edges carry whole runs of characters, so long unbranched
+     * handles cost one node. Readers share a lock; adds take it exclusively.
+     */
+    static final class RadixTrie {
+
+        private final Node root = new Node("", false);
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void add(String key) {
+            lock.writeLock().lock();
+            try {
+                insert(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean contains(String key) {
+            lock.readLock().lock();
+            try {
+                return containsUnlocked(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void read(Runnable reader) {
+            lock.readLock().lock();
+            try {
+                reader.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Caller holds the read lock
+        boolean containsUnlocked(String key) {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null || !key.startsWith(child.label, i)) {
+                    return false;
+                }
+                i += child.label.length();
+                node = child;
+            }
+            return node.terminal;
+        }
+
+        private void insert(String key) {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                char first = key.charAt(i);
+                Node child = node.children.get(first);
+                if (child == null) {
+                    node.children.put(first, new Node(key.substring(i), true));
+                    return;
+                }
+
+                int common = 0;
+                int max = Math.min(child.label.length(), key.length() - i);
+                while (common < max && child.label.charAt(common) == key.charAt(i + common)) {
+                    common++;
+                }
+                if (common < child.label.length()) {
+                    // Split the edge where the key leaves it
+                    Node middle = new Node(child.label.substring(0, common), false);
+                    child.label = child.label.substring(common);
+                    middle.children.put(child.label.charAt(0), child);
+                    node.children.put(first, middle);
+                    child = middle;
+                }
+                i += common;
+                node = child;
+            }
+            node.terminal = true;
+        }
+
+        private static final class Node {
+
+            private final Map<Character, Node> children = new TreeMap<>();
+            private String label;
+            private boolean terminal;
+
+            Node(String label, boolean terminal) {
+                this.label = label;
+                this.terminal = terminal;
+            }
+        }
+    }
+}
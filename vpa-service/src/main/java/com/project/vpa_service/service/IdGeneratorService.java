@@ -1,11 +1,22 @@
 package com.project.vpa_service.service;
 
-import com.project.vpa_service.entity.IdSequence;
 import com.project.vpa_service.repository.IdSequenceRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -13,19 +24,40 @@ import org.springframework.transaction.annotation.Transactional;
 public class IdGeneratorService {
 
     private final IdSequenceRepository idSequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<SnowflakeIdGenerator> snowflakeIdGenerator;
 
     private static final String PSP_SEQUENCE = "PSP_SEQ";
     private static final String VPA_SEQUENCE = "VPA_SEQ";
     private static final long PSP_START_VALUE = 1L;
     private static final long VPA_START_VALUE = 100000L;
 
+    // PSP IDs only have three digits, so they are leased one at a time
+    @Value("${id-generator.block-size.psp:1}")
+    private int pspBlockSize;
+
+    @Value("${id-generator.block-size.vpa:1000}")
+    private int vpaBlockSize;
+
+    private final ConcurrentMap<String, AtomicReference<IdBlock>> blocks = new ConcurrentHashMap<>();
+    private TransactionTemplate leaseTransaction;
+    private SnowflakeIdGenerator snowflake;  // set when id-generator.mode=snowflake
+
+    @PostConstruct
+    void init() {
+        // Leases commit on their own so a rolled-back caller never hands its block out twice
+        leaseTransaction = new TransactionTemplate(transactionManager);
+        leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        snowflake = snowflakeIdGenerator.getIfAvailable();
+    }
+
     /**
      * Generate PSP ID like PSP001, PSP002
      */
-    @Transactional
     public String generatePspId() {
-        long nextValue = getNextSequenceValue(PSP_SEQUENCE, PSP_START_VALUE);
-        String pspId = "PSP" + String.format("%03d", nextValue);
+        String pspId = snowflake != null
+                ? "PSP" + snowflake.nextId()
+                : "PSP" + String.format("%03d", getNextSequenceValue(PSP_SEQUENCE, PSP_START_VALUE, pspBlockSize));
         log.debug("Generated PSP ID: {}", pspId);
         return pspId;
     }
@@ -33,27 +65,86 @@ public class IdGeneratorService {
     /**
      * Generate VPA ID like VPA100001, VPA100002
      */
-    @Transactional
     public String generateVpaId() {
-        long nextValue = getNextSequenceValue(VPA_SEQUENCE, VPA_START_VALUE);
-        String vpaId = "VPA" + nextValue;
+        String vpaId = snowflake != null
+                ? "VPA" + snowflake.nextId()
+                : "VPA" + getNextSequenceValue(VPA_SEQUENCE, VPA_START_VALUE, vpaBlockSize);
         log.debug("Generated VPA ID: {}", vpaId);
         return vpaId;
     }
 
-    private long getNextSequenceValue(String sequenceName, long startValue) {
-        IdSequence sequence = idSequenceRepository.findBySequenceNameForUpdate(sequenceName)
+    /**
+     * Generate {@code count} VPA IDs at once. In sequence mode they come from a single
+     * dedicated block, so a batch costs one round trip however large it is.
+     */
+    public List<String> generateVpaIds(int count) {
+        List<String> vpaIds = new ArrayList<>(count);
+        if (snowflake != null) {
+            for (int i = 0; i < count; i++) {
+                vpaIds.add("VPA" + snowflake.nextId());
+            }
+            return vpaIds;
+        }
+        if (count == 0) {
+            return vpaIds;
+        }
+        long end = leaseBlock(VPA_SEQUENCE, VPA_START_VALUE, count);
+        for (long value = end - count; value < end; value++) {
+            vpaIds.add("VPA" + value);
+        }
+        log.debug("Generated {} VPA IDs from VPA{}", count, end - count);
+        return vpaIds;
+    }
+
+    /**
+     * Get next sequence value (thread-safe). Values are handed out from a block
+     * leased from id_sequences, so the row is only touched once per block.
+     * Unused values of a block are lost on restart, leaving gaps in the series.
+     */
+    private long getNextSequenceValue(String sequenceName, long startValue, int blockSize) {
+        AtomicReference<IdBlock> current = blocks.computeIfAbsent(sequenceName,
+                name -> new AtomicReference<>(IdBlock.EMPTY));
+        long value = current.get().take();
+        if (value >= 0) {
+            return value;
+        }
+        synchronized (current) {
+            while ((value = current.get().take()) < 0) {
+                long end = leaseBlock(sequenceName, startValue, blockSize);
+                current.set(new IdBlock(end - blockSize, end));
+            }
+        }
+        return value;
+    }
+
+    private long leaseBlock(String sequenceName, long startValue, int blockSize) {
+        long end = leaseTransaction.execute(status -> idSequenceRepository.leaseBlock(sequenceName, blockSize)
                 .orElseGet(() -> {
-                    IdSequence newSeq = new IdSequence();
-                    newSeq.setSequenceName(sequenceName);
-                    newSeq.setCurrentValue(startValue);
-                    return idSequenceRepository.save(newSeq);
-                });
+                    idSequenceRepository.initSequence(sequenceName, startValue);
+                    return idSequenceRepository.leaseBlock(sequenceName, blockSize).orElseThrow();
+                }));
+        log.debug("Leased {} values of {} ending before {}", blockSize, sequenceName, end);
+        return end;
+    }
+
+    /**
+     * Leased range [next, limit); exhausted once take() passes the limit.
+     */
+    private static final class IdBlock {
+
+        static final IdBlock EMPTY = new IdBlock(0, 0);
+
+        private final AtomicLong next;
+        private final long limit;
 
-        long currentValue = sequence.getCurrentValue();
-        sequence.setCurrentValue(currentValue + 1);
-        idSequenceRepository.save(sequence);
+        IdBlock(long from, long limit) {
+            this.next = new AtomicLong(from);
+            this.limit = limit;
+        }
 
-        return currentValue;
+        long take() {
+            long value = next.getAndIncrement();
+            return value < limit ? value : -1;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.project.vpa_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.vpa_service.dto.response.PspResponse;
+import com.project.vpa_service.dto.response.RawJson;
+import com.project.vpa_service.entity.Psp;
+import com.project.vpa_service.repository.PspRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Memory-resident directory of active PSPs.
+ * <p>
+ * The whole table is held as one immutable snapshot, indexed by id, handle and bank IFSC prefix,
+ * with the list response already serialized. A new snapshot is swapped in after a PSP is created here,
+ * or when the periodic version check sees the table changed (e.g. a PSP created on another replica).
+ * The PSP entities in a snapshot are detached and shared, so callers must not modify them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PspDirectory {
+
+    private final PspRepository pspRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Reload if the table's version (row count and latest update) differs from the snapshot's.
+     */
+    @Scheduled(initialDelayString = "${vpa.psp-directory.check-interval-ms:30000}",
+            fixedDelayString = "${vpa.psp-directory.check-interval-ms:30000}")
+    public void checkVersion() {
+        if (!pspRepository.findDirectoryVersion().equals(snapshot.version())) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reload once the current transaction commits, or right away outside one.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    public synchronized void refresh() {
+        // Version first: a change made during the load is then seen by the next check
+        String version = pspRepository.findDirectoryVersion();
+        List<Psp> psps = pspRepository.findAllByActiveTrue();
+
+        Map<String, Psp> byId = new HashMap<>();
+        Map<String, Psp> byHandle = new HashMap<>();
+        Map<String, Psp> byIfscPrefix = new HashMap<>();
+        for (Psp psp : psps) {
+            byId.put(psp.getId(), psp);
+            byHandle.put(psp.getPspHandle(), psp);
+            if (psp.getBankIfscPrefix() != null) {
+                byIfscPrefix.putIfAbsent(psp.getBankIfscPrefix().toUpperCase(), psp);
+            }
+        }
+        List<PspResponse> responses = psps.stream().map(PspDirectory::toResponse).toList();
+
+        snapshot = new Snapshot(version, Map.copyOf(byId), Map.copyOf(byHandle), Map.copyOf(byIfscPrefix),
+                responses, new RawJson(serialize(responses)));
+        log.info("PSP directory loaded {} PSPs (version {})", psps.size(), version);
+    }
+
+    public Optional<Psp> findById(String pspId) {
+        return Optional.ofNullable(snapshot.byId().get(pspId));
+    }
+
+    public Optional<Psp> findByHandle(String pspHandle) {
+        return Optional.ofNullable(snapshot.byHandle().get(pspHandle));
+    }
+
+    public Optional<Psp> findByIfscPrefix(String ifscPrefix) {
+        return Optional.ofNullable(snapshot.byIfscPrefix().get(ifscPrefix.toUpperCase()));
+    }
+
+    public List<PspResponse> all() {
+        return snapshot.all();
+    }
+
+    public RawJson allJson() {
+        return snapshot.allJson();
+    }
+
+    static PspResponse toResponse(Psp psp) {
+        return PspResponse.builder()
+                .id(psp.getId())
+                .pspName(psp.getPspName())
+                .pspHandle(psp.getPspHandle())
+                .bankName(psp.getBankName())
+                .bankIfscPrefix(psp.getBankIfscPrefix())
+                .logoUrl(psp.getLogoUrl())
+                .active(psp.getActive())
+                .createdAt(psp.getCreatedAt())
+                .build();
+    }
+
+    private String serialize(List<PspResponse> responses) {
+        try {
+            return objectMapper.writeValueAsString(responses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize PSP directory", e);
+        }
+    }
+
+    private record Snapshot(String version, Map<String, Psp> byId, Map<String, Psp> byHandle,
+                            Map<String, Psp> byIfscPrefix, List<PspResponse> all, RawJson allJson) {
+    }
+}
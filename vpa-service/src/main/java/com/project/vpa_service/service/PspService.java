@@ -2,16 +2,17 @@ package com.project.vpa_service.service;
 
 import com.project.vpa_service.dto.request.CreatePspRequest;
 import com.project.vpa_service.dto.response.PspResponse;
+import com.project.vpa_service.dto.response.RawJson;
 import com.project.vpa_service.entity.Psp;
 import com.project.vpa_service.exception.PspNotFoundException;
 import com.project.vpa_service.repository.PspRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +22,7 @@ public class PspService {
 
     private final PspRepository pspRepository;
     private final IdGeneratorService idGeneratorService;
+    private final PspDirectory pspDirectory;
 
     /**
      * Create a new PSP
@@ -45,64 +47,59 @@ public class PspService {
                 .build();
 
         psp = pspRepository.save(psp);
+        pspDirectory.refreshAfterCommit();
         log.info("PSP created successfully with ID: {}", psp.getId());
 
-        return mapToPspResponse(psp);
+        return PspDirectory.toResponse(psp);
     }
 
     /**
      * Get PSP by ID
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PspResponse getPspById(String pspId) {
         log.info("Fetching PSP by ID: {}", pspId);
-        Psp psp = pspRepository.findByIdAndActiveTrue(pspId)
+        Psp psp = pspDirectory.findById(pspId)
                 .orElseThrow(() -> new PspNotFoundException("id", pspId));
-        return mapToPspResponse(psp);
+        return PspDirectory.toResponse(psp);
     }
 
     /**
      * Get PSP by handle
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PspResponse getPspByHandle(String pspHandle) {
         log.info("Fetching PSP by handle: {}", pspHandle);
-        Psp psp = pspRepository.findByPspHandleAndActiveTrue(pspHandle.toLowerCase())
+        Psp psp = pspDirectory.findByHandle(pspHandle.toLowerCase())
                 .orElseThrow(() -> new PspNotFoundException("handle", pspHandle));
-        return mapToPspResponse(psp);
+        return PspDirectory.toResponse(psp);
     }
 
     /**
      * Get all PSPs
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<PspResponse> getAllPsps() {
         log.info("Fetching all active PSPs");
-        return pspRepository.findAllByActiveTrue()
-                .stream()
-                .map(this::mapToPspResponse)
-                .collect(Collectors.toList());
+        return pspDirectory.all();
     }
 
     /**
-     * Get PSP entity by ID (internal use)
+     * Get all PSPs as the JSON array serialized when the directory was loaded
      */
-    @Transactional(readOnly = true)
-    public Psp getPspEntityById(String pspId) {
-        return pspRepository.findByIdAndActiveTrue(pspId)
-                .orElseThrow(() -> new PspNotFoundException("id", pspId));
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public RawJson getAllPspsJson() {
+        log.info("Fetching all active PSPs");
+        return pspDirectory.allJson();
     }
 
-    private PspResponse mapToPspResponse(Psp psp) {
-        return PspResponse.builder()
-                .id(psp.getId())
-                .pspName(psp.getPspName())
-                .pspHandle(psp.getPspHandle())
-                .bankName(psp.getBankName())
-                .bankIfscPrefix(psp.getBankIfscPrefix())
-                .logoUrl(psp.getLogoUrl())
-                .active(psp.getActive())
-                .createdAt(psp.getCreatedAt())
-                .build();
+    /**
+     * Get PSP entity by ID (internal use). The entity comes from the PSP directory
+     * and is detached and shared, so it must not be modified.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Psp getPspEntityById(String pspId) {
+        return pspDirectory.findById(pspId)
+                .orElseThrow(() -> new PspNotFoundException("id", pspId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.project.vpa_service.service;
+
+import com.project.vpa_service.repository.IdNodeLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit IDs built from a millisecond timestamp, a node id and a
+ * per-millisecond counter, issued without any database round trip.
+ * The node id comes from configuration (e.g. Eureka metadata) or, when
+ * id-generator.node-lease.enabled is set, is leased from id_node_leases at startup.
+ * A leased node only issues IDs until its lease runs out: if renewals keep failing,
+ * generation stops rather than risk another instance taking over the same node.
+ */
+@Service
+@ConditionalOnProperty(name = "id-generator.mode", havingValue = "snowflake")
+@RequiredArgsConstructor
+@Slf4j
+public class SnowflakeIdGenerator {
+
+    private static final long EPOCH_MS = 1704067200000L;  // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final int CLAIM_ATTEMPTS = 3;
+
+    // Long.MAX_VALUE needs 13 base-36 digits; fixed width keeps string order equal to time order
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final IdNodeLeaseRepository idNodeLeaseRepository;
+
+    @Value("${spring.application.name}")
+    private String serviceName;
+
+    @Value("${id-generator.node-id:-1}")
+    private int configuredNodeId;
+
+    @Value("${id-generator.node-lease.enabled:false}")
+    private boolean leaseEnabled;
+
+    @Value("${id-generator.node-lease.ttl-seconds:600}")
+    private long leaseTtlSeconds;
+
+    @Value("${id-generator.node-lease.renew-interval-ms:60000}")
+    private long renewIntervalMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong state = new AtomicLong();  // (millis since epoch << COUNTER_BITS) | counter
+    private volatile Node node;  // null while no node is held
+
+    @PostConstruct
+    void init() {
+        if (configuredNodeId < 0) {
+            if (!leaseEnabled) {
+                throw new IllegalStateException("id-generator.node-id is not set for " + serviceName
+                        + "; configure a node between 0 and " + MAX_NODE_ID + " or enable id-generator.node-lease.enabled");
+            }
+            if (renewIntervalMs >= TimeUnit.SECONDS.toMillis(leaseTtlSeconds)) {
+                throw new IllegalStateException("id-generator.node-lease.renew-interval-ms must be shorter than ttl-seconds");
+            }
+            claimNode();
+            return;
+        }
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("id-generator.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        node = new Node(configuredNodeId, null, 0);
+        log.info("Using configured ID node {}", configuredNodeId);
+    }
+
+    /**
+     * Next ID as 13 upper-case base-36 digits.
+     */
+    public String nextId() {
+        return encode(nextValue());
+    }
+
+    private long nextValue() {
+        Node held = node;
+        if (held == null) {
+            throw new IllegalStateException("No ID node lease held by " + serviceName);
+        }
+        if (held.expired(System.nanoTime())) {
+            throw new IllegalStateException("ID node lease " + held.leaseKey() + " expired without renewal");
+        }
+        long current;
+        long updated;
+        do {
+            current = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MS;
+            // Keep the last timestamp if the clock stepped back; a full counter spills into the next millisecond
+            updated = now > (current >>> COUNTER_BITS) ? now << COUNTER_BITS : current + 1;
+        } while (!state.compareAndSet(current, updated));
+
+        return (updated >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS)
+                | (long) held.nodeId() << COUNTER_BITS
+                | (updated & COUNTER_MASK);
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(chars);
+    }
+
+    private void claimNode() {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            // Taken before the statement, so the local deadline never outlasts the one the database sets
+            long startNanos = System.nanoTime();
+            Optional<Integer> claimed = idNodeLeaseRepository.claimNode(
+                    serviceName, instanceId, MAX_NODE_ID, leaseTtlSeconds);
+            if (claimed.isPresent()) {
+                node = new Node(claimed.get(), serviceName + ":" + claimed.get(), leaseDeadline(startNanos));
+                log.info("Claimed ID node {} for {}", claimed.get(), serviceName);
+                return;
+            }
+        }
+        throw new IllegalStateException("No free ID node for " + serviceName);
+    }
+
+    /**
+     * Extend the node lease. IDs keep flowing while the database is briefly unreachable, but only
+     * until the lease would have expired; a lease that was lost to another instance is replaced
+     * before issuing more, and a node that could not be replaced is claimed again on the next run.
+     */
+    @Scheduled(fixedDelayString = "${id-generator.node-lease.renew-interval-ms:60000}")
+    public void renewLease() {
+        if (configuredNodeId >= 0) {
+            return;
+        }
+        Node current = node;
+        try {
+            if (current == null) {
+                claimNode();
+                return;
+            }
+            long startNanos = System.nanoTime();
+            if (idNodeLeaseRepository.renew(current.leaseKey(), instanceId, leaseTtlSeconds) == 0) {
+                log.warn("ID node lease {} was taken over, claiming a new node", current.leaseKey());
+                node = null;
+                claimNode();
+            } else {
+                node = new Node(current.nodeId(), current.leaseKey(), leaseDeadline(startNanos));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew ID node lease {}: {}", current != null ? current.leaseKey() : "(none)", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void releaseLease() {
+        Node current = node;
+        String key = current != null ? current.leaseKey() : null;
+        if (key == null) {
+            return;
+        }
+        node = null;
+        try {
+            idNodeLeaseRepository.release(key, instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release ID node lease {}: {}", key, e.getMessage());
+        }
+    }
+
+    private long leaseDeadline(long startNanos) {
+        return startNanos + TimeUnit.SECONDS.toNanos(leaseTtlSeconds);
+    }
+
+    /**
+     * The node IDs are issued under; a leased node carries the local deadline of its lease.
+     */
+    private record Node(int nodeId, String leaseKey, long expiresAtNanos) {
+
+        boolean expired(long nowNanos) {
+            return leaseKey != null && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
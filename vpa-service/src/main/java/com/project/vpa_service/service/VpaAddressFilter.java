@@ -0,0 +1,284 @@
+package com.project.vpa_service.service;
+
+import com.project.vpa_service.repository.VpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Bloom filter over every VPA address ever issued, in front of the availability check.
+ * <p>
+ * Addresses are never deleted (deactivated VPAs keep theirs), so a plain Bloom filter is enough:
+ * "not in the filter" means the address is free and the database is skipped; a possible hit is
+ * confirmed with a query. New addresses are added when created here and when the VPA index re-reads
+ * rows written on other replicas. The filter is rebuilt from a streaming scan whenever the
+ * {@link VpaChangeListener} (re)connects, which is also the initial build, and periodically, which
+ * also resizes it as the table grows. Without the change feed the filter would never hear about
+ * other replicas' addresses, so it stays off and every check goes to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VpaAddressFilter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VpaRepository vpaRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vpa.availability-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vpa.index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${vpa.index.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    @Value("${vpa.availability-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${vpa.availability-filter.min-capacity:1000000}")
+    private long minCapacity;
+
+    @Value("${vpa.availability-filter.fetch-size:10000}")
+    private int fetchSize;
+
+    private TransactionTemplate scanTransaction;
+    private Counter skipped;
+    private Counter confirmedTaken;
+    private Counter falsePositives;
+
+    // Both are only swapped under this lock, so an add never lands in a filter that is being discarded
+    private final Object swapLock = new Object();
+    private volatile BloomFilter filter;   // null until the first build completes
+    private BloomFilter building;
+
+    // Rebuilds run one at a time; overlapping ones would each replace building, and values added
+    // meanwhile could miss the filter finally swapped in. A caller that waits still scans afresh.
+    private final Object rebuildLock = new Object();
+
+    @PostConstruct
+    void init() {
+        if (enabled && !(indexEnabled && notifyEnabled)) {
+            log.warn("VPA address filter disabled: it needs the VPA index change feed to see other replicas' addresses");
+            enabled = false;
+        }
+
+        // Postgres only streams a result set with a fetch size inside a transaction
+        scanTransaction = new TransactionTemplate(transactionManager);
+        scanTransaction.setReadOnly(true);
+
+        skipped = meterRegistry.counter("vpa.availability.filter", "result", "negative");
+        confirmedTaken = meterRegistry.counter("vpa.availability.filter", "result", "taken");
+        falsePositives = meterRegistry.counter("vpa.availability.filter", "result", "false_positive");
+        Gauge.builder("vpa.availability.filter.false_positive_rate", this, VpaAddressFilter::observedFalsePositiveRate)
+                .description("Share of free addresses the filter could not rule out")
+                .register(meterRegistry);
+        Gauge.builder("vpa.availability.filter.expected_false_positive_rate", this,
+                        f -> f.filter != null ? f.filter.expectedFalsePositiveRate() : Double.NaN)
+                .description("False positive rate implied by the filter's current fill")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the address is taken; {@code lookup} is only consulted when the filter cannot rule it out.
+     */
+    public boolean isTaken(String vpaAddress, Predicate<String> lookup) {
+        BloomFilter current = filter;
+        if (!enabled || current == null) {
+            return lookup.test(vpaAddress);
+        }
+        if (!current.mightContain(vpaAddress)) {
+            skipped.increment();
+            return false;
+        }
+        boolean taken = lookup.test(vpaAddress);
+        (taken ? confirmedTaken : falsePositives).increment();
+        return taken;
+    }
+
+    /**
+     * Record addresses written in the current transaction. They are added straight away, which is
+     * harmless if the transaction rolls back, and again after commit in case a rebuild started meanwhile.
+     */
+    public void add(Collection<String> vpaAddresses) {
+        if (!enabled || vpaAddresses.isEmpty()) {
+            return;
+        }
+        List<String> addresses = List.copyOf(vpaAddresses);
+        putAll(addresses);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAll(addresses);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuild the filter from a full scan of vpas, sized for twice the current row count.
+     * Addresses added while the scan runs go into both the old and the new filter.
+     */
+    @Scheduled(initialDelayString = "${vpa.availability-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${vpa.availability-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            rebuildFromScan();
+        }
+    }
+
+    private void rebuildFromScan() {
+        long startNanos = System.nanoTime();
+        long expected = Math.max(minCapacity, vpaRepository.count() * 2);
+        BloomFilter next = new BloomFilter(expected, falsePositiveRate);
+        synchronized (swapLock) {
+            building = next;
+        }
+
+        AtomicLong scanned = new AtomicLong();
+        try {
+            scanTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(VpaRepository.ALL_ADDRESSES_SQL);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                next.put(rs.getString(1));
+                scanned.incrementAndGet();
+            }));
+        } catch (RuntimeException ex) {
+            synchronized (swapLock) {
+                building = null;
+            }
+            log.warn("VPA address filter rebuild failed, keeping the previous filter: {}", ex.getMessage());
+            return;
+        }
+
+        synchronized (swapLock) {
+            filter = next;
+            building = null;
+        }
+        log.info("VPA address filter rebuilt: {} bits for {} addresses in {} ms", next.bitCount(), scanned.get(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void putAll(List<String> addresses) {
+        synchronized (swapLock) {
+            for (String address : addresses) {
+                if (filter != null) {
+                    filter.put(address);
+                }
+                if (building != null) {
+                    building.put(address);
+                }
+            }
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double free = skipped.count() + falsePositives.count();
+        return free == 0 ? 0.0 : falsePositives.count() / free;
+    }
+
+    /**
+     * Thread-safe Bloom filter on an atomic bit array, using double hashing for the probe positions.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong bitsSet = new AtomicLong();
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+                if ((current & mask) == 0) {
+                    bitsSet.incrementAndGet();
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            return bitCount;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+        }
+
+        // FNV-1a over the characters, then a 64-bit finalizer to spread the bits
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb93fe53a87bbL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.project.vpa_service.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on {@link VpaIndex#CHANGE_CHANNEL} so VPAs written by other replicas are re-read
+ * into this replica's index and address filter. Every (re)connect reloads the whole index and
+ * rebuilds the filter, which is also their initial load.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VpaChangeListener {
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DataSource dataSource;
+    private final VpaIndex vpaIndex;
+    private final VpaAddressFilter vpaAddressFilter;
+
+    @Value("${vpa.index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${vpa.index.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    void start() {
+        if (!indexEnabled || !notifyEnabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "vpa-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(POLL_TIMEOUT_MS * 2L);
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + VpaIndex.CHANGE_CHANNEL);
+                }
+                // Anything written while we were not listening may have been missed
+                vpaIndex.reload();
+                vpaAddressFilter.rebuild();
+                log.info("Listening for VPA changes on channel {}", VpaIndex.CHANGE_CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        vpaIndex.onNotification(notification.getParameter());
+                    }
+                }
+            } catch (Exception ex) {
+                if (!running) {
+                    break;
+                }
+                log.warn("VPA change listener lost its connection, reconnecting: {}", ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+}
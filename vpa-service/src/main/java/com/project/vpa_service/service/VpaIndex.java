@@ -0,0 +1,341 @@
+package com.project.vpa_service.service;
+
+import com.project.vpa_service.repository.VpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident copy of every active VPA, keyed by address, so verification and address lookups
+ * are answered from memory.
+ * <p>
+ * Writes report the VPAs (or users) they touched; after commit the index re-reads those rows.
+ * The same keys go to the {@link ChangePublisher}, which notifies other replicas after the commit
+ * so they re-read them too (see {@link VpaChangeListener}). A miss falls back to the database, so a VPA created on another
+ * replica a moment ago is still found.
+ * <p>
+ * A notification can be lost, e.g. when the writing replica dies before its flush. A periodic
+ * reconcile re-reads every row updated since the previous pass, so a missed deactivation is
+ * corrected within one reconcile interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VpaIndex {
+
+    public static final String CHANGE_CHANNEL = "vpa_changed";
+
+    private static final String VPA_KEYS = "V";
+    private static final String USER_KEYS = "U";
+
+    private static final RowMapper<IndexedVpa> ROW_MAPPER = (rs, rowNum) -> new IndexedVpa(
+            rs.getString("id"),
+            rs.getString("user_id"),
+            rs.getString("vpa_handle"),
+            rs.getString("vpa_address"),
+            rs.getString("linked_account_id"),
+            rs.getString("psp_id"),
+            rs.getString("psp_name"),
+            rs.getString("psp_handle"),
+            rs.getBoolean("is_primary"),
+            rs.getBoolean("is_verified"),
+            rs.getBoolean("active"),
+            toLocalDateTime(rs.getTimestamp("created_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final VpaAddressFilter vpaAddressFilter;
+    private final HandleSuggestionService handleSuggestionService;
+    private final ChangePublisher changePublisher;
+
+    // Tags our own notifications; this replica already re-read those rows after commit
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // Refreshes are applied one at a time, so a later read of a row never loses to an earlier one
+    private final Object refreshLock = new Object();
+
+    @Value("${vpa.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vpa.index.notify-enabled:true}")
+    private boolean notifyEnabled;
+
+    @Value("${vpa.index.page-size:10000}")
+    private int pageSize;
+
+    // Covers transactions still open when a pass runs and writes stamped with an application clock
+    @Value("${vpa.index.reconcile-lookback-seconds:60}")
+    private long reconcileLookbackSeconds;
+
+    private volatile Map<String, IndexedVpa> byAddress = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Database time the last full load or reconcile started at; guarded by refreshLock
+    private LocalDateTime reconciledFrom;
+
+    // Changes seen while a full load runs; re-read once the loaded map is swapped in
+    private Set<String> missedVpaIds;
+    private Set<String> missedUserIds;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("vpa.index.size", this, index -> index.byAddress.size())
+                .description("VPAs held in the in-memory resolution index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Without the change feed nothing triggers the first load, so load once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        if (enabled && !notifyEnabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Active VPA by address; served from memory once the index is loaded.
+     */
+    public Optional<IndexedVpa> findActiveByAddress(String vpaAddress) {
+        if (enabled && ready) {
+            IndexedVpa vpa = byAddress.get(vpaAddress);
+            if (vpa != null) {
+                return Optional.of(vpa);
+            }
+        }
+        return jdbcTemplate.query(VpaRepository.INDEX_BY_ADDRESS_SQL, ROW_MAPPER, vpaAddress)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Active VPAs by address, for a batch. Index misses are looked up together in one query.
+     */
+    public Map<String, IndexedVpa> findActiveByAddresses(Collection<String> vpaAddresses) {
+        Map<String, IndexedVpa> found = new HashMap<>();
+        Set<String> misses = new HashSet<>();
+        for (String address : vpaAddresses) {
+            IndexedVpa vpa = enabled && ready ? byAddress.get(address) : null;
+            if (vpa != null) {
+                found.put(address, vpa);
+            } else {
+                misses.add(address);
+            }
+        }
+        if (!misses.isEmpty()) {
+            namedParameterJdbcTemplate.query(VpaRepository.INDEX_BY_ADDRESSES_SQL, Map.of("addresses", misses), ROW_MAPPER)
+                    .forEach(vpa -> found.put(vpa.vpaAddress(), vpa));
+        }
+        return found;
+    }
+
+    /**
+     * Announce that VPAs changed in the current transaction, e.g. their linked account or status.
+     */
+    public void vpasChanged(Collection<String> vpaIds) {
+        changed(Set.copyOf(vpaIds), Set.of());
+    }
+
+    /**
+     * Announce that any VPA of these users may have changed, e.g. creation or a primary switch.
+     */
+    public void usersChanged(Collection<String> userIds) {
+        changed(Set.of(), Set.copyOf(userIds));
+    }
+
+    private void changed(Set<String> vpaIds, Set<String> userIds) {
+        if (vpaIds.isEmpty() && userIds.isEmpty()) {
+            return;
+        }
+        if (notifyEnabled) {
+            changePublisher.publish(CHANGE_CHANNEL, instanceId + ':' + VPA_KEYS + ':', ",", vpaIds);
+            changePublisher.publish(CHANGE_CHANNEL, instanceId + ':' + USER_KEYS + ':', ",", userIds);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(vpaIds, userIds);
+                }
+            });
+        } else {
+            refresh(vpaIds, userIds);
+        }
+    }
+
+    /**
+     * Handle a change notification; ones sent by this replica were already applied after commit.
+     * Payload is {@code instanceId:V:VPA100001,VPA100002} or {@code instanceId:U:U100001}.
+     */
+    public void onNotification(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (!enabled || parts.length < 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        Set<String> keys = Set.copyOf(Arrays.asList(parts[2].split(",")));
+        if (VPA_KEYS.equals(parts[1])) {
+            refresh(keys, Set.of());
+        } else if (USER_KEYS.equals(parts[1])) {
+            refresh(Set.of(), keys);
+        }
+    }
+
+    /**
+     * Load every active VPA into a new map and swap it in. Changes that arrive meanwhile are
+     * applied to the old map as usual and re-read into the new one after the swap.
+     */
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime loadStartedAt = jdbcTemplate.queryForObject(VpaRepository.DATABASE_TIME_SQL, LocalDateTime.class);
+        synchronized (refreshLock) {
+            missedVpaIds = new HashSet<>();
+            missedUserIds = new HashSet<>();
+        }
+
+        long startNanos = System.nanoTime();
+        Map<String, IndexedVpa> loaded = new ConcurrentHashMap<>();
+        try {
+            String lastId = "";
+            List<IndexedVpa> page;
+            do {
+                page = jdbcTemplate.query(VpaRepository.INDEX_PAGE_SQL, ROW_MAPPER, lastId, pageSize);
+                for (IndexedVpa vpa : page) {
+                    loaded.put(vpa.vpaAddress(), vpa);
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == pageSize);
+        } catch (RuntimeException ex) {
+            synchronized (refreshLock) {
+                missedVpaIds = null;
+                missedUserIds = null;
+            }
+            throw ex;
+        }
+
+        synchronized (refreshLock) {
+            byAddress = loaded;
+            Set<String> vpaIds = missedVpaIds;
+            Set<String> userIds = missedUserIds;
+            missedVpaIds = null;
+            missedUserIds = null;
+            apply(vpaIds, userIds);
+            reconciledFrom = loadStartedAt;
+            ready = true;
+        }
+        log.info("VPA index loaded {} VPAs in {} ms", loaded.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Re-read every VPA updated since the previous pass (less the lookback), catching changes whose
+     * notification never arrived. Skipped until the index is loaded and while a reload runs.
+     */
+    @Scheduled(initialDelayString = "${vpa.index.reconcile-interval-ms:30000}",
+            fixedDelayString = "${vpa.index.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        if (!enabled || !ready) {
+            return;
+        }
+        LocalDateTime passStartedAt = jdbcTemplate.queryForObject(VpaRepository.DATABASE_TIME_SQL, LocalDateTime.class);
+        int changed;
+        synchronized (refreshLock) {
+            if (missedVpaIds != null) {
+                return;
+            }
+            List<IndexedVpa> rows = jdbcTemplate.query(VpaRepository.INDEX_CHANGED_SINCE_SQL, ROW_MAPPER,
+                    Timestamp.valueOf(reconciledFrom.minusSeconds(reconcileLookbackSeconds)));
+            applyRows(rows);
+            reconciledFrom = passStartedAt;
+            changed = rows.size();
+        }
+        log.debug("VPA index reconciled {} recently updated VPAs", changed);
+    }
+
+    private void refresh(Set<String> vpaIds, Set<String> userIds) {
+        synchronized (refreshLock) {
+            if (missedVpaIds != null) {
+                missedVpaIds.addAll(vpaIds);
+                missedUserIds.addAll(userIds);
+            }
+            apply(vpaIds, userIds);
+        }
+    }
+
+    // Caller holds refreshLock
+    private void apply(Set<String> vpaIds, Set<String> userIds) {
+        List<IndexedVpa> rows = new ArrayList<>();
+        if (!vpaIds.isEmpty()) {
+            rows.addAll(namedParameterJdbcTemplate.query(VpaRepository.INDEX_BY_IDS_SQL,
+                    Map.of("ids", vpaIds), ROW_MAPPER));
+        }
+        if (!userIds.isEmpty()) {
+            rows.addAll(namedParameterJdbcTemplate.query(VpaRepository.INDEX_BY_USERS_SQL,
+                    Map.of("userIds", userIds), ROW_MAPPER));
+        }
+        applyRows(rows);
+    }
+
+    // Caller holds refreshLock
+    private void applyRows(List<IndexedVpa> rows) {
+        // Rows written on other replicas only reach the address filter and handle tries this way
+        List<String> addresses = rows.stream().map(IndexedVpa::vpaAddress).toList();
+        vpaAddressFilter.add(addresses);
+        handleSuggestionService.addAll(addresses);
+
+        // Addresses never change and rows are never deleted, so each row fully decides its entry
+        for (IndexedVpa vpa : rows) {
+            if (vpa.active()) {
+                byAddress.put(vpa.vpaAddress(), vpa);
+            } else {
+                byAddress.remove(vpa.vpaAddress());
+            }
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * What the index keeps for one VPA, including the PSP fields responses need.
+     */
+    public record IndexedVpa(String id, String userId, String vpaHandle, String vpaAddress, String linkedAccountId,
+                             String pspId, String pspName, String pspHandle, boolean primary, boolean verified,
+                             boolean active, LocalDateTime createdAt) {
+    }
+}
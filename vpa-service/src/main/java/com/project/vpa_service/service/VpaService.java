@@ -1,6 +1,10 @@
 package com.project.vpa_service.service;
 
+import com.project.vpa_service.dto.request.BatchCreateVpaRequest;
 import com.project.vpa_service.dto.request.CreateVpaRequest;
+import com.project.vpa_service.dto.response.BatchCreateVpaResponse;
+import com.project.vpa_service.dto.response.VpaCreationResult;
+import com.project.vpa_service.dto.response.VpaCreationResult.CreationStatus;
 import com.project.vpa_service.dto.response.VpaResponse;
 import com.project.vpa_service.dto.response.VpaVerificationResponse;
 import com.project.vpa_service.entity.Psp;
@@ -8,12 +12,22 @@ import com.project.vpa_service.entity.Vpa;
 import com.project.vpa_service.exception.DuplicateVpaException;
 import com.project.vpa_service.exception.VpaNotFoundException;
 import com.project.vpa_service.repository.VpaRepository;
+import com.project.vpa_service.service.VpaIndex.IndexedVpa;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +39,10 @@ public class VpaService {
     private final VpaRepository vpaRepository;
     private final PspService pspService;
     private final IdGeneratorService idGeneratorService;
+    private final JdbcTemplate jdbcTemplate;
+    private final VpaIndex vpaIndex;
+    private final VpaAddressFilter vpaAddressFilter;
+    private final HandleSuggestionService handleSuggestionService;
 
     /**
      * Create a new VPA
@@ -64,9 +82,142 @@ public class VpaService {
                 .build();
 
         vpa = vpaRepository.save(vpa);
+        vpaAddressFilter.add(List.of(vpaAddress));
+        handleSuggestionService.addAll(List.of(vpaAddress));
+        // The user's previous primary may have been cleared too
+        vpaIndex.usersChanged(List.of(vpa.getUserId()));
         log.info("VPA created successfully: {}", vpa.getVpaAddress());
 
-        return mapToVpaResponse(vpa);
+        // The saved copy only holds a proxy of the directory's PSP; map from the PSP itself
+        return mapToVpaResponse(vpa, psp);
+    }
+
+    /**
+     * Create many VPAs on one PSP, e.g. when migrating customers onto a new handle.
+     * Entries whose address is taken, or repeats an earlier entry, are reported as collided
+     * instead of failing the batch. Primary rules are the same as for {@link #createVpa}.
+     */
+    public BatchCreateVpaResponse createVpas(BatchCreateVpaRequest request) {
+        List<BatchCreateVpaRequest.Entry> entries = request.getEntries();
+        log.info("Creating {} VPAs on PSP: {}", entries.size(), request.getPspId());
+
+        Psp psp = pspService.getPspEntityById(request.getPspId());
+
+        List<String> addresses = new ArrayList<>(entries.size());
+        for (BatchCreateVpaRequest.Entry entry : entries) {
+            addresses.add(entry.getVpaHandle().toLowerCase() + "@" + psp.getPspHandle());
+        }
+
+        // One lookup for the whole batch; adding to the taken set also catches repeats within the batch
+        Set<String> taken = new HashSet<>(vpaRepository.findExistingAddresses(addresses));
+        List<Integer> fresh = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            if (taken.add(addresses.get(i))) {
+                fresh.add(i);
+            }
+        }
+
+        VpaCreationResult[] results = new VpaCreationResult[entries.size()];
+        int created = 0;
+        if (!fresh.isEmpty()) {
+            Set<Integer> primaries = choosePrimaries(entries, fresh);
+            List<String> vpaIds = idGeneratorService.generateVpaIds(fresh.size());
+
+            List<Object[]> rows = new ArrayList<>(fresh.size());
+            for (int n = 0; n < fresh.size(); n++) {
+                int i = fresh.get(n);
+                BatchCreateVpaRequest.Entry entry = entries.get(i);
+                rows.add(new Object[]{
+                        vpaIds.get(n),
+                        entry.getUserId(),
+                        entry.getVpaHandle().toLowerCase(),
+                        psp.getId(),
+                        addresses.get(i),
+                        entry.getLinkedAccountId(),
+                        primaries.contains(i)
+                });
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(VpaRepository.INSERT_VPA_SQL, rows);
+            Map<String, String> newPrimaryByUser = new HashMap<>();
+            for (int n = 0; n < fresh.size(); n++) {
+                int i = fresh.get(n);
+                boolean inserted = counts[n] > 0 || counts[n] == Statement.SUCCESS_NO_INFO;
+                if (inserted && primaries.contains(i) && Boolean.TRUE.equals(entries.get(i).getIsPrimary())) {
+                    newPrimaryByUser.put(entries.get(i).getUserId(), vpaIds.get(n));
+                }
+                results[i] = VpaCreationResult.builder()
+                        .index(i)
+                        .vpaAddress(addresses.get(i))
+                        .vpaId(inserted ? vpaIds.get(n) : null)
+                        .status(inserted ? CreationStatus.CREATED : CreationStatus.COLLIDED)
+                        .build();
+                if (inserted) {
+                    created++;
+                }
+            }
+
+            // Only a user whose new primary row actually went in loses the previous one; a row
+            // skipped by ON CONFLICT leaves the user's primary as it was
+            if (!newPrimaryByUser.isEmpty()) {
+                vpaRepository.clearPrimaryVpasExcept(newPrimaryByUser.keySet(), newPrimaryByUser.values());
+            }
+
+            List<String> freshAddresses = fresh.stream().map(addresses::get).toList();
+            vpaAddressFilter.add(freshAddresses);
+            handleSuggestionService.addAll(freshAddresses);
+
+            // Covers new VPAs and users whose previous primary was cleared
+            Set<String> changedUsers = new HashSet<>();
+            for (int i : fresh) {
+                changedUsers.add(entries.get(i).getUserId());
+            }
+            vpaIndex.usersChanged(changedUsers);
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = VpaCreationResult.builder()
+                        .index(i)
+                        .vpaAddress(addresses.get(i))
+                        .status(CreationStatus.COLLIDED)
+                        .build();
+            }
+        }
+
+        log.info("Created {} of {} VPAs on PSP: {}", created, entries.size(), psp.getId());
+        return BatchCreateVpaResponse.builder()
+                .pspId(psp.getId())
+                .total(entries.size())
+                .created(created)
+                .collided(entries.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Indexes of the entries that become primary: a user's last entry asking for it, otherwise
+     * the first entry of a user with no active VPA. Existing primaries are left alone here; the
+     * caller clears them once it knows which of the new primary rows were inserted.
+     */
+    private Set<Integer> choosePrimaries(List<BatchCreateVpaRequest.Entry> entries, List<Integer> fresh) {
+        Map<String, Integer> primaryByUser = new HashMap<>();
+        Set<String> userIds = new HashSet<>();
+        for (int i : fresh) {
+            BatchCreateVpaRequest.Entry entry = entries.get(i);
+            userIds.add(entry.getUserId());
+            if (Boolean.TRUE.equals(entry.getIsPrimary())) {
+                primaryByUser.put(entry.getUserId(), i);
+            }
+        }
+        Set<String> usersWithVpas = new HashSet<>(vpaRepository.findUserIdsWithActiveVpas(userIds));
+        for (int i : fresh) {
+            String userId = entries.get(i).getUserId();
+            if (!usersWithVpas.contains(userId)) {
+                primaryByUser.putIfAbsent(userId, i);
+            }
+        }
+        return new HashSet<>(primaryByUser.values());
     }
 
     /**
@@ -81,12 +232,12 @@ public class VpaService {
     }
 
     /**
-     * Get VPA by address (e.g., rahul@okaxis)
+     * Get VPA by address (e.g., rahul@okaxis); served from the VPA index
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public VpaResponse getVpaByAddress(String vpaAddress) {
         log.info("Fetching VPA by address: {}", vpaAddress);
-        Vpa vpa = vpaRepository.findByVpaAddressAndActiveTrue(vpaAddress.toLowerCase())
+        IndexedVpa vpa = vpaIndex.findActiveByAddress(vpaAddress.toLowerCase())
                 .orElseThrow(() -> new VpaNotFoundException("address", vpaAddress));
         return mapToVpaResponse(vpa);
     }
@@ -97,10 +248,8 @@ public class VpaService {
     @Transactional(readOnly = true)
     public List<VpaResponse> getVpasByUserId(String userId) {
         log.info("Fetching VPAs for user: {}", userId);
-        return vpaRepository.findAllByUserIdAndActiveTrue(userId)
-                .stream()
-                .map(this::mapToVpaResponse)
-                .collect(Collectors.toList());
+        // Projected in one join query; mapping entities would load each PSP lazily
+        return vpaRepository.findResponsesByUserId(userId);
     }
 
     /**
@@ -115,34 +264,39 @@ public class VpaService {
     }
 
     /**
-     * Verify if VPA exists and is active
+     * Verify if VPA exists and is active. Answered from the VPA index without a
+     * transaction, so a hit needs no database connection.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public VpaVerificationResponse verifyVpa(String vpaAddress) {
         log.info("Verifying VPA: {}", vpaAddress);
 
-        return vpaRepository.findByVpaAddressAndActiveTrue(vpaAddress.toLowerCase())
-                .map(vpa -> VpaVerificationResponse.builder()
-                        .vpaAddress(vpa.getVpaAddress())
-                        .exists(true)
-                        .active(vpa.getActive())
-                        .accountHolderName(VpaVerificationResponse.maskName("Account Holder"))  // In real app, fetch from user-service
-                        .pspName(vpa.getPsp().getPspName())
-                        .build())
-                .orElse(VpaVerificationResponse.builder()
-                        .vpaAddress(vpaAddress)
-                        .exists(false)
-                        .active(false)
-                        .build());
+        return mapToVerificationResponse(vpaAddress, vpaIndex.findActiveByAddress(vpaAddress.toLowerCase()).orElse(null));
     }
 
     /**
-     * Check if VPA address is available
+     * Verify many VPAs at once, e.g. the payees of a bulk payout. Addresses not in the VPA index
+     * are resolved together in one query; results come back in request order.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<VpaVerificationResponse> verifyVpas(List<String> vpaAddresses) {
+        log.info("Verifying {} VPAs", vpaAddresses.size());
+
+        Map<String, IndexedVpa> found = vpaIndex.findActiveByAddresses(
+                vpaAddresses.stream().map(String::toLowerCase).collect(Collectors.toSet()));
+        return vpaAddresses.stream()
+                .map(address -> mapToVerificationResponse(address, found.get(address.toLowerCase())))
+                .toList();
+    }
+
+    /**
+     * Check if VPA address is available. The address filter answers most free addresses
+     * without a query, so no transaction is opened up front.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isVpaAvailable(String vpaAddress) {
         log.info("Checking if VPA is available: {}", vpaAddress);
-        return !vpaRepository.existsByVpaAddress(vpaAddress.toLowerCase());
+        return !vpaAddressFilter.isTaken(vpaAddress.toLowerCase(), vpaRepository::existsByVpaAddress);
     }
 
     /**
@@ -160,6 +314,7 @@ public class VpaService {
 
         vpaRepository.clearPrimaryVpa(userId);
         vpaRepository.setPrimaryVpa(vpaId);
+        vpaIndex.usersChanged(List.of(userId));
 
         log.info("Primary VPA updated successfully");
     }
@@ -170,11 +325,11 @@ public class VpaService {
     public void updateLinkedAccount(String vpaId, String accountId) {
         log.info("Updating linked account for VPA {}: {}", vpaId, accountId);
 
-        if (!vpaRepository.existsById(vpaId)) {
+        // Zero rows updated means there is no such VPA
+        if (vpaRepository.updateLinkedAccount(vpaId, accountId) == 0) {
             throw new VpaNotFoundException("id", vpaId);
         }
-
-        vpaRepository.updateLinkedAccount(vpaId, accountId);
+        vpaIndex.vpasChanged(List.of(vpaId));
         log.info("Linked account updated successfully");
     }
 
@@ -184,11 +339,10 @@ public class VpaService {
     public void markVpaAsVerified(String vpaId) {
         log.info("Marking VPA as verified: {}", vpaId);
 
-        if (!vpaRepository.existsById(vpaId)) {
+        if (vpaRepository.verifyVpa(vpaId) == 0) {
             throw new VpaNotFoundException("id", vpaId);
         }
-
-        vpaRepository.verifyVpa(vpaId);
+        vpaIndex.vpasChanged(List.of(vpaId));
         log.info("VPA verified successfully");
     }
 
@@ -198,23 +352,26 @@ public class VpaService {
     public void deactivateVpa(String vpaId) {
         log.info("Deactivating VPA: {}", vpaId);
 
-        if (!vpaRepository.existsById(vpaId)) {
+        if (vpaRepository.deactivateVpa(vpaId) == 0) {
             throw new VpaNotFoundException("id", vpaId);
         }
-
-        vpaRepository.deactivateVpa(vpaId);
+        vpaIndex.vpasChanged(List.of(vpaId));
         log.info("VPA deactivated successfully");
     }
 
     private VpaResponse mapToVpaResponse(Vpa vpa) {
+        return mapToVpaResponse(vpa, vpa.getPsp());
+    }
+
+    private VpaResponse mapToVpaResponse(Vpa vpa, Psp psp) {
         return VpaResponse.builder()
                 .id(vpa.getId())
                 .userId(vpa.getUserId())
                 .vpaHandle(vpa.getVpaHandle())
                 .vpaAddress(vpa.getVpaAddress())
-                .pspId(vpa.getPsp().getId())
-                .pspName(vpa.getPsp().getPspName())
-                .pspHandle(vpa.getPsp().getPspHandle())
+                .pspId(psp.getId())
+                .pspName(psp.getPspName())
+                .pspHandle(psp.getPspHandle())
                 .linkedAccountId(vpa.getLinkedAccountId())
                 .isPrimary(vpa.getIsPrimary())
                 .isVerified(vpa.getIsVerified())
@@ -222,4 +379,38 @@ public class VpaService {
                 .createdAt(vpa.getCreatedAt())
                 .build();
     }
+
+    private VpaVerificationResponse mapToVerificationResponse(String requestedAddress, IndexedVpa vpa) {
+        if (vpa == null) {
+            return VpaVerificationResponse.builder()
+                    .vpaAddress(requestedAddress)
+                    .exists(false)
+                    .active(false)
+                    .build();
+        }
+        return VpaVerificationResponse.builder()
+                .vpaAddress(vpa.vpaAddress())
+                .exists(true)
+                .active(vpa.active())
+                .accountHolderName(VpaVerificationResponse.maskName("Account Holder"))  // In real app, fetch from user-service
+                .pspName(vpa.pspName())
+                .build();
+    }
+
+    private VpaResponse mapToVpaResponse(IndexedVpa vpa) {
+        return VpaResponse.builder()
+                .id(vpa.id())
+                .userId(vpa.userId())
+                .vpaHandle(vpa.vpaHandle())
+                .vpaAddress(vpa.vpaAddress())
+                .pspId(vpa.pspId())
+                .pspName(vpa.pspName())
+                .pspHandle(vpa.pspHandle())
+                .linkedAccountId(vpa.linkedAccountId())
+                .isPrimary(vpa.primary())
+                .isVerified(vpa.verified())
+                .active(vpa.active())
+                .createdAt(vpa.createdAt())
+                .build();
+    }
 }
\ No newline at end of file
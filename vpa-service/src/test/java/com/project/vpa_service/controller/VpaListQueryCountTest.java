@@ -0,0 +1,71 @@
+package com.project.vpa_service.controller;
+
+import com.project.vpa_service.entity.Psp;
+import com.project.vpa_service.entity.Vpa;
+import com.project.vpa_service.repository.PspRepository;
+import com.project.vpa_service.repository.VpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/vpas/user/{userId} must stay a single query however many VPAs the user has. The seeded
+ * rows are rolled back after the test.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.project.vpa_service.controller.StatementCounter")
+@AutoConfigureMockMvc
+@Transactional
+class VpaListQueryCountTest {
+
+    private static final int VPAS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PspRepository pspRepository;
+
+    @Autowired
+    private VpaRepository vpaRepository;
+
+    @Test
+    void listingAUsersVpasRunsOneStatement() throws Exception {
+        String suffix = Integer.toString(ThreadLocalRandom.current().nextInt(1_000_000, 10_000_000));
+        String userId = "UT" + suffix;
+        Psp psp = pspRepository.saveAndFlush(Psp.builder()
+                .id("PT" + suffix)
+                .pspName("Test PSP")
+                .pspHandle("t" + suffix)
+                .build());
+        for (int i = 0; i < VPAS; i++) {
+            vpaRepository.save(Vpa.builder()
+                    .id("VT" + suffix + i)
+                    .userId(userId)
+                    .vpaHandle("user" + i)
+                    .psp(psp)
+                    .vpaAddress("user" + i + "@t" + suffix)
+                    .linkedAccountId("AT" + suffix + i)
+                    .isPrimary(i == 0)
+                    .build());
+        }
+        vpaRepository.flush();
+
+        StatementCounter.reset();
+        mockMvc.perform(get("/api/vpas/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(VPAS));
+
+        assertEquals(1, StatementCounter.count());
+    }
+}
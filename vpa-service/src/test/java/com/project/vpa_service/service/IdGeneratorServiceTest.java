@@ -0,0 +1,71 @@
+package com.project.vpa_service.service;
+
+import com.project.vpa_service.repository.IdSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdGeneratorServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void singleAndBatchVpaIdsNeverOverlap() throws Exception {
+        Map<String, Long> sequences = new ConcurrentHashMap<>();
+        IdSequenceRepository repository = mock(IdSequenceRepository.class);
+        when(repository.initSequence(anyString(), anyLong())).thenAnswer(call ->
+                sequences.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null ? 1 : 0);
+        when(repository.leaseBlock(anyString(), anyLong())).thenAnswer(call -> Optional.ofNullable(
+                sequences.computeIfPresent(call.getArgument(0), (name, last) -> last + call.<Long>getArgument(1))));
+
+        IdGeneratorService service = new IdGeneratorService(repository,
+                mock(PlatformTransactionManager.class), mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(service, "vpaBlockSize", 7);
+        service.init();
+
+        // Even threads draw from the shared block, odd threads lease whole batches of their own
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                boolean batches = t % 2 == 1;
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        if (batches) {
+                            ids.addAll(service.generateVpaIds(25));
+                        } else {
+                            ids.add(service.generateVpaId());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(4 * 200 + 4 * 200 * 25, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.matches("VPA\\d{6,}")));
+    }
+}